@@ -0,0 +1,117 @@
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * *******************************************************
+ * File: LoadScenario.java
+ * Author: Ochwada
+ * Date: Saturday, 17.Oct.2026, 2:45 PM
+ * Description: Closed-loop HTTP load generator for the read endpoints of the API (JDK only, no build needed).
+ * Objective:
+ * - {@code concurrency} clients each send GETs back to back, cycling through the endpoints, for a warm-up period and
+ *   then a measured period.
+ * - Prints one Markdown table row per run: label, throughput, p50, p99, max latency and error count.
+ * Usage: java load/LoadScenario.java <label> <baseUrl> <concurrency> <warmupSeconds> <seconds> <path> [<path>...]
+ * *******************************************************
+ */
+public class LoadScenario {
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 6) {
+            System.err.println("Usage: java load/LoadScenario.java <label> <baseUrl> <concurrency> "
+                    + "<warmupSeconds> <seconds> <path> [<path>...]");
+            System.exit(2);
+        }
+        String label = args[0];
+        String baseUrl = args[1];
+        int concurrency = Integer.parseInt(args[2]);
+        Duration warmup = Duration.ofSeconds(Long.parseLong(args[3]));
+        Duration measured = Duration.ofSeconds(Long.parseLong(args[4]));
+        List<URI> targets = Arrays.stream(args, 5, args.length).map(path -> URI.create(baseUrl + path)).toList();
+
+        HttpClient client = HttpClient.newBuilder()
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+
+        run(client, targets, concurrency, warmup);
+        Result result = run(client, targets, concurrency, measured);
+
+        System.out.printf("| %-10s | %6d | %10.1f | %8.2f | %8.2f | %8.2f | %6d |%n",
+                label, concurrency, result.count() / (double) measured.toSeconds(),
+                result.percentileMillis(0.50), result.percentileMillis(0.99), result.percentileMillis(1.0),
+                result.errors());
+    }
+
+    /** Runs the clients for the given duration and collects every latency. */
+    private static Result run(HttpClient client, List<URI> targets, int concurrency, Duration duration)
+            throws Exception {
+        long deadline = System.nanoTime() + duration.toNanos();
+        List<Future<long[]>> workers = new ArrayList<>();
+        int[] errors = new int[concurrency];
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int w = 0; w < concurrency; w++) {
+                int worker = w;
+                workers.add(executor.submit(() -> {
+                    long[] latencies = new long[1024];
+                    int n = 0;
+                    int next = worker % targets.size();
+                    while (System.nanoTime() < deadline) {
+                        HttpRequest request = HttpRequest.newBuilder(targets.get(next))
+                                .timeout(Duration.ofSeconds(30))
+                                .GET()
+                                .build();
+                        next = (next + 1) % targets.size();
+                        long start = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() >= 400) {
+                                errors[worker]++;
+                            }
+                        } catch (Exception e) {
+                            errors[worker]++;
+                        }
+                        if (n == latencies.length) {
+                            latencies = Arrays.copyOf(latencies, n * 2);
+                        }
+                        latencies[n++] = System.nanoTime() - start;
+                    }
+                    return Arrays.copyOf(latencies, n);
+                }));
+            }
+        }
+
+        List<long[]> all = new ArrayList<>();
+        for (Future<long[]> worker : workers) {
+            all.add(worker.get());
+        }
+        long[] merged = all.stream().flatMapToLong(Arrays::stream).sorted().toArray();
+        return new Result(merged, Arrays.stream(errors).sum());
+    }
+
+    /** Sorted latencies (nanoseconds) of one run and its error count. */
+    private record Result(long[] sortedNanos, int errors) {
+
+        int count() {
+            return sortedNanos.length;
+        }
+
+        double percentileMillis(double p) {
+            if (sortedNanos.length == 0) {
+                return Double.NaN;
+            }
+            int index = (int) Math.min(sortedNanos.length - 1, Math.ceil(p * sortedNanos.length) - 1);
+            return sortedNanos[Math.max(0, index)] / 1_000_000.0;
+        }
+    }
+}
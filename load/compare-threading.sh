@@ -0,0 +1,51 @@
+#!/usr/bin/env bash
+# -----------------------------------------------------------------------------------------------
+# Compares throughput and latency of platform threads (default) and virtual threads ("virtual" profile)
+# on the existing read endpoints. Needs a MongoDB reachable through MONGODB_URI holding representative data.
+#
+#   MONGODB_URI=mongodb://localhost:27017 load/compare-threading.sh [concurrency...]
+#
+# Environment: PORT (default 9091), WARMUP (seconds, default 10), DURATION (seconds, default 30),
+#              SPECIALITY / START_DATE / END_DATE (query values used by the scenario)
+# -----------------------------------------------------------------------------------------------
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+: "${MONGODB_URI:?MONGODB_URI must point at a MongoDB holding test data}"
+PORT="${PORT:-9091}"
+WARMUP="${WARMUP:-10}"
+DURATION="${DURATION:-30}"
+SPECIALITY="${SPECIALITY:-Cardiology}"
+START_DATE="${START_DATE:-2025-07-01}"
+END_DATE="${END_DATE:-2025-07-31}"
+if [ $# -gt 0 ]; then CONCURRENCY=("$@"); else CONCURRENCY=(50 200 800); fi
+
+PATHS=(
+  "/patients?limit=50"
+  "/doctors?limit=50"
+  "/patients/summary?limit=100"
+  "/doctors/summary?speciality=${SPECIALITY}"
+  "/appointments/range?startDate=${START_DATE}&endDate=${END_DATE}"
+  "/appointments/status/SCHEDULED"
+)
+
+mvn -q -DskipTests package
+JAR=$(ls target/healthcare-management-*.jar | grep -v original | head -n 1)
+
+run_mode() {
+  local label="$1" profile="$2"
+  java -jar "$JAR" --server.port="$PORT" ${profile:+--spring.profiles.active=$profile} >"target/load-$label.log" 2>&1 &
+  local pid=$!
+  trap 'kill $pid 2>/dev/null || true' RETURN
+  until curl -sf "http://localhost:$PORT/" >/dev/null; do sleep 1; done
+  for c in "${CONCURRENCY[@]}"; do
+    java load/LoadScenario.java "$label" "http://localhost:$PORT" "$c" "$WARMUP" "$DURATION" "${PATHS[@]}"
+  done
+  kill "$pid"
+  wait "$pid" 2>/dev/null || true
+}
+
+echo "| mode       | conc.  | req/s      | p50 ms   | p99 ms   | max ms   | errors |"
+echo "|------------|--------|------------|----------|----------|----------|--------|"
+run_mode platform ""
+run_mode virtual virtual
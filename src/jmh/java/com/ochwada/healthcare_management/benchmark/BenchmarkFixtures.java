@@ -0,0 +1,160 @@
+package com.ochwada.healthcare_management.benchmark;
+
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.ochwada.healthcare_management.model.*;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.StringJoiner;
+
+/**
+ * *******************************************************
+ * Package: com.ochwada.healthcare_management.benchmark
+ * File: BenchmarkFixtures.java
+ * Author: Ochwada
+ * Date: Saturday, 17.Oct.2026, 3:20 PM
+ * Description: Sample entities and mappers shared by the JMH benchmarks.
+ * Objective: Build the Jackson mapper and the MongoDB converter the way Spring Boot does, without a running
+ * application or database.
+ * *******************************************************
+ */
+final class BenchmarkFixtures {
+
+    private BenchmarkFixtures() {
+    }
+
+    static Patient patient() {
+        return new Patient("66a1f0c2e4b0a1b2c3d4e5f6", "Amina Wanjiru", 42, Gender.FEMALE,
+                "amina.wanjiru@example.com", "+254712345678", null);
+    }
+
+    static Appointment appointment() {
+        Appointment appointment = new Appointment();
+        appointment.setId("66a1f0c2e4b0a1b2c3d4e5f7");
+        appointment.setPatientId("66a1f0c2e4b0a1b2c3d4e5f6");
+        appointment.setDoctorId("66a1f0c2e4b0a1b2c3d4e5f8");
+        appointment.setDate(LocalDate.of(2026, 11, 3));
+        appointment.setReason("Follow-up after blood pressure medication change");
+        appointment.setStatus(Status.SCHEDULED);
+        return appointment;
+    }
+
+    static MedicalRecord medicalRecord() {
+        return new MedicalRecord("66a1f0c2e4b0a1b2c3d4e5f9", "66a1f0c2e4b0a1b2c3d4e5f6",
+                "Stage 1 hypertension with intermittent headaches",
+                "Amlodipine 5 mg once daily; reduce sodium intake; review in four weeks",
+                LocalDate.of(2026, 9, 14), null);
+    }
+
+    /**
+     * Appointments across a month and a few doctors, as returned by {@code /appointments/range}. Ids and texts are
+     * drawn from a seeded random source, so compression ratios are not flattered by repetition.
+     */
+    static List<Appointment> appointments(int count) {
+        Random random = new Random(42);
+        String[] doctorIds = ids(random, 12);
+        Status[] statuses = Status.values();
+        List<Appointment> appointments = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Appointment appointment = new Appointment();
+            appointment.setId(id(random));
+            appointment.setPatientId(id(random));
+            appointment.setDoctorId(doctorIds[random.nextInt(doctorIds.length)]);
+            appointment.setDate(LocalDate.of(2026, 11, 1).plusDays(random.nextInt(30)));
+            appointment.setReason(text(random, REASONS, 1 + random.nextInt(2)));
+            appointment.setStatus(statuses[random.nextInt(statuses.length)]);
+            appointment.setSlot(random.nextInt(20));
+            appointments.add(appointment);
+        }
+        return appointments;
+    }
+
+    /** Medical records of many patients, as returned by {@code /medical-records}; see {@link #appointments(int)}. */
+    static List<MedicalRecord> medicalRecords(int count) {
+        Random random = new Random(7);
+        List<MedicalRecord> records = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            records.add(new MedicalRecord(id(random), id(random),
+                    text(random, DIAGNOSES, 1 + random.nextInt(2)),
+                    text(random, TREATMENTS, 1 + random.nextInt(3)),
+                    LocalDate.of(2026, 9, 14).minusDays(random.nextInt(365)), null));
+        }
+        return records;
+    }
+
+    private static final String[] REASONS = {
+            "Follow-up after blood pressure medication change", "Persistent cough for two weeks",
+            "Annual physical examination", "Lower back pain after lifting", "Review of blood test results",
+            "Migraine with visual aura", "Skin rash on forearms", "Pre-travel vaccination",
+            "Knee swelling after running", "Shortness of breath on exertion"};
+
+    private static final String[] DIAGNOSES = {
+            "Stage 1 hypertension with intermittent headaches", "Type 2 diabetes mellitus, well controlled",
+            "Acute bronchitis", "Iron deficiency anaemia", "Mechanical lower back pain", "Allergic rhinitis",
+            "Migraine without aura", "Contact dermatitis", "Osteoarthritis of the right knee", "Mild persistent asthma"};
+
+    private static final String[] TREATMENTS = {
+            "Amlodipine 5 mg once daily", "Reduce sodium intake", "Review in four weeks", "Metformin 500 mg twice daily",
+            "Salbutamol inhaler as needed", "Ferrous sulfate 200 mg daily for three months", "Physiotherapy referral",
+            "Ibuprofen 400 mg three times daily with food", "Cetirizine 10 mg at night", "Emollient cream twice daily",
+            "Repeat blood count in six weeks", "Advise graded return to exercise"};
+
+    private static String[] ids(Random random, int count) {
+        String[] ids = new String[count];
+        for (int i = 0; i < count; i++) {
+            ids[i] = id(random);
+        }
+        return ids;
+    }
+
+    private static String id(Random random) {
+        return String.format("%08x%08x%08x", random.nextInt(), random.nextInt(), random.nextInt());
+    }
+
+    private static String text(Random random, String[] phrases, int count) {
+        StringJoiner text = new StringJoiner("; ");
+        for (int i = 0; i < count; i++) {
+            text.add(phrases[random.nextInt(phrases.length)]);
+        }
+        return text.toString();
+    }
+
+    /** Jackson mapper with Spring Boot's defaults (ISO dates, unknown properties ignored). */
+    static ObjectMapper objectMapper() {
+        return Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+    }
+
+    /** The same mapper writing CBOR, as configured in {@code WireFormatConfig}. */
+    static ObjectMapper cborMapper() {
+        return Jackson2ObjectMapperBuilder.json()
+                .factory(new CBORFactory())
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+    }
+
+    /** The converter {@code MongoTemplate} uses, set up with the given custom conversions. */
+    static MappingMongoConverter mongoConverter(MongoCustomConversions conversions) {
+        MongoMappingContext mappingContext = new MongoMappingContext();
+        mappingContext.setInitialEntitySet(Set.of(Patient.class, Doctor.class, Appointment.class, MedicalRecord.class));
+        mappingContext.setSimpleTypeHolder(conversions.getSimpleTypeHolder());
+        mappingContext.afterPropertiesSet();
+
+        MappingMongoConverter converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, mappingContext);
+        converter.setCustomConversions(conversions);
+        converter.afterPropertiesSet();
+        return converter;
+    }
+}
@@ -0,0 +1,93 @@
+package com.ochwada.healthcare_management.benchmark;
+
+
+import com.ochwada.healthcare_management.codec.SpecializedCodecs;
+import com.ochwada.healthcare_management.model.Appointment;
+import com.ochwada.healthcare_management.model.MedicalRecord;
+import com.ochwada.healthcare_management.model.Patient;
+import org.bson.Document;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * *******************************************************
+ * Package: com.ochwada.healthcare_management.benchmark
+ * File: BsonMappingBenchmark.java
+ * Author: Ochwada
+ * Date: Saturday, 17.Oct.2026, 3:40 PM
+ * Description: Cost of Spring Data's entity mapping ({@link MappingMongoConverter}) between the entities and the
+ * BSON {@link Document}s stored in MongoDB, in both directions.
+ * Objective: Compare the two {@code healthcare.mongo.mapping} modes: {@code generic} reflective mapping against the
+ * {@code specialized} hand-written codecs.
+ * *******************************************************
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class BsonMappingBenchmark {
+
+    @Param({"generic", "specialized"})
+    private String mapping;
+
+    private MappingMongoConverter converter;
+
+    private Patient patient;
+    private Appointment appointment;
+    private MedicalRecord record;
+    private Document patientDocument;
+    private Document appointmentDocument;
+    private Document recordDocument;
+
+    @Setup
+    public void setUp() {
+        converter = BenchmarkFixtures.mongoConverter(new MongoCustomConversions(
+                "specialized".equals(mapping) ? SpecializedCodecs.converters() : List.of()));
+
+        patient = BenchmarkFixtures.patient();
+        appointment = BenchmarkFixtures.appointment();
+        record = BenchmarkFixtures.medicalRecord();
+        patientDocument = write(patient);
+        appointmentDocument = write(appointment);
+        recordDocument = write(record);
+    }
+
+    private Document write(Object entity) {
+        Document document = new Document();
+        converter.write(entity, document);
+        return document;
+    }
+
+    @Benchmark
+    public Document writePatient() {
+        return write(patient);
+    }
+
+    @Benchmark
+    public Document writeAppointment() {
+        return write(appointment);
+    }
+
+    @Benchmark
+    public Document writeMedicalRecord() {
+        return write(record);
+    }
+
+    @Benchmark
+    public Patient readPatient() {
+        return converter.read(Patient.class, patientDocument);
+    }
+
+    @Benchmark
+    public Appointment readAppointment() {
+        return converter.read(Appointment.class, appointmentDocument);
+    }
+
+    @Benchmark
+    public MedicalRecord readMedicalRecord() {
+        return converter.read(MedicalRecord.class, recordDocument);
+    }
+}
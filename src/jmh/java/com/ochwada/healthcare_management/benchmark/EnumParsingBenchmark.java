@@ -0,0 +1,65 @@
+package com.ochwada.healthcare_management.benchmark;
+
+
+import com.ochwada.healthcare_management.model.Gender;
+import com.ochwada.healthcare_management.model.Status;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * *******************************************************
+ * Package: com.ochwada.healthcare_management.benchmark
+ * File: EnumParsingBenchmark.java
+ * Author: Ochwada
+ * Date: Saturday, 17.Oct.2026, 3:34 PM
+ * Description: Cost of {@link Gender#fromString(String)} and {@link Status#fromString(String)}, which trim,
+ * upper-case and use exceptions to report invalid input.
+ * Objective: Measure the common (valid, lower-case) path and the exceptional path separately.
+ * *******************************************************
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class EnumParsingBenchmark {
+
+    // Non-final so the JIT cannot constant-fold the inputs
+    private String validGender = "female";
+    private String paddedGender = "  Male ";
+    private String invalidGender = "unknown";
+    private String validStatus = "scheduled";
+    private String invalidStatus = "postponed";
+
+    @Benchmark
+    public Gender genderValid() {
+        return Gender.fromString(validGender);
+    }
+
+    @Benchmark
+    public Gender genderPadded() {
+        return Gender.fromString(paddedGender);
+    }
+
+    @Benchmark
+    public Object genderInvalid() {
+        try {
+            return Gender.fromString(invalidGender);
+        } catch (IllegalArgumentException e) {
+            return e;
+        }
+    }
+
+    @Benchmark
+    public Status statusValid() {
+        return Status.fromString(validStatus);
+    }
+
+    @Benchmark
+    public Object statusInvalid() {
+        try {
+            return Status.fromString(invalidStatus);
+        } catch (IllegalArgumentException e) {
+            return e;
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.ochwada.healthcare_management.benchmark;
+
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.ochwada.healthcare_management.model.Appointment;
+import com.ochwada.healthcare_management.model.MedicalRecord;
+import com.ochwada.healthcare_management.model.Patient;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * *******************************************************
+ * Package: com.ochwada.healthcare_management.benchmark
+ * File: JacksonBenchmark.java
+ * Author: Ochwada
+ * Date: Saturday, 17.Oct.2026, 3:28 PM
+ * Description: Cost of Jackson serialization and deserialization of the entities returned and accepted by the API.
+ * Objective:
+ * *******************************************************
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class JacksonBenchmark {
+
+    private ObjectWriter patientWriter;
+    private ObjectWriter appointmentWriter;
+    private ObjectWriter recordWriter;
+    private ObjectReader patientReader;
+    private ObjectReader appointmentReader;
+    private ObjectReader recordReader;
+
+    private Patient patient;
+    private Appointment appointment;
+    private MedicalRecord record;
+    private byte[] patientJson;
+    private byte[] appointmentJson;
+    private byte[] recordJson;
+
+    @Setup
+    public void setUp() throws Exception {
+        ObjectMapper mapper = BenchmarkFixtures.objectMapper();
+        patientWriter = mapper.writerFor(Patient.class);
+        appointmentWriter = mapper.writerFor(Appointment.class);
+        recordWriter = mapper.writerFor(MedicalRecord.class);
+        patientReader = mapper.readerFor(Patient.class);
+        appointmentReader = mapper.readerFor(Appointment.class);
+        recordReader = mapper.readerFor(MedicalRecord.class);
+
+        patient = BenchmarkFixtures.patient();
+        appointment = BenchmarkFixtures.appointment();
+        record = BenchmarkFixtures.medicalRecord();
+        patientJson = patientWriter.writeValueAsBytes(patient);
+        appointmentJson = appointmentWriter.writeValueAsBytes(appointment);
+        recordJson = recordWriter.writeValueAsBytes(record);
+    }
+
+    @Benchmark
+    public byte[] serializePatient() throws Exception {
+        return patientWriter.writeValueAsBytes(patient);
+    }
+
+    @Benchmark
+    public byte[] serializeAppointment() throws Exception {
+        return appointmentWriter.writeValueAsBytes(appointment);
+    }
+
+    @Benchmark
+    public byte[] serializeMedicalRecord() throws Exception {
+        return recordWriter.writeValueAsBytes(record);
+    }
+
+    @Benchmark
+    public Patient deserializePatient() throws Exception {
+        return patientReader.readValue(patientJson);
+    }
+
+    @Benchmark
+    public Appointment deserializeAppointment() throws Exception {
+        return appointmentReader.readValue(appointmentJson);
+    }
+
+    @Benchmark
+    public MedicalRecord deserializeMedicalRecord() throws Exception {
+        return recordReader.readValue(recordJson);
+    }
+}
@@ -0,0 +1,75 @@
+package com.ochwada.healthcare_management.benchmark;
+
+
+import com.ochwada.healthcare_management.config.RepositoryResultSizeInterceptor;
+import com.ochwada.healthcare_management.model.Patient;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.aop.framework.ProxyFactory;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * *******************************************************
+ * Package: com.ochwada.healthcare_management.benchmark
+ * File: MetricsOverheadBenchmark.java
+ * Author: Ochwada
+ * Date: Saturday, 17.Oct.2026, 5:30 PM
+ * Description: Per-call cost of the repository instrumentation: a repository-like proxy without advice, against
+ * the same proxy with {@link RepositoryResultSizeInterceptor} and a latency timer publishing percentiles and
+ * histogram buckets, as configured for {@code spring.data.repository.invocations}.
+ * Objective: Keep the instrumentation negligible next to a MongoDB round trip (hundreds of microseconds).
+ * *******************************************************
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class MetricsOverheadBenchmark {
+
+    /** Stand-in for a derived finder; the target returns a pre-built result. */
+    public interface Finder {
+        List<Patient> findPatients();
+    }
+
+    @Param({"plain", "instrumented"})
+    private String mode;
+
+    private Finder finder;
+
+    @Setup
+    public void setUp() {
+        List<Patient> result = Collections.nCopies(20, BenchmarkFixtures.patient());
+        ProxyFactory proxyFactory = new ProxyFactory((Finder) () -> result);
+        proxyFactory.addInterface(Finder.class);
+
+        if ("instrumented".equals(mode)) {
+            MeterRegistry registry = new SimpleMeterRegistry();
+            Timer timer = Timer.builder("spring.data.repository.invocations")
+                    .tag("repository", "Finder")
+                    .tag("method", "findPatients")
+                    .publishPercentiles(0.5, 0.95, 0.99)
+                    .publishPercentileHistogram()
+                    .register(registry);
+            proxyFactory.addAdvice((MethodInterceptor) invocation -> {
+                Timer.Sample sample = Timer.start(registry);
+                try {
+                    return invocation.proceed();
+                } finally {
+                    sample.stop(timer);
+                }
+            });
+            proxyFactory.addAdvice(new RepositoryResultSizeInterceptor(registry, "Finder"));
+        }
+        finder = (Finder) proxyFactory.getProxy();
+    }
+
+    @Benchmark
+    public List<Patient> findPatients() {
+        return finder.findPatients();
+    }
+}
@@ -0,0 +1,102 @@
+package com.ochwada.healthcare_management.benchmark;
+
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.ochwada.healthcare_management.model.Appointment;
+import com.ochwada.healthcare_management.model.MedicalRecord;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * *******************************************************
+ * Package: com.ochwada.healthcare_management.benchmark
+ * File: WireFormatBenchmark.java
+ * Author: Ochwada
+ * Date: Saturday, 17.Oct.2026, 10:50 PM
+ * Description: Encoding and decoding cost of JSON and CBOR response bodies, with and without gzip, on the payloads
+ * of {@code /appointments/range} (500 appointments) and {@code /medical-records} (200 records).
+ * - The body sizes of each format are printed once per fork.
+ * Objective:
+ * *******************************************************
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class WireFormatBenchmark {
+
+    @Param({"json", "cbor"})
+    public String format;
+
+    private ObjectWriter appointmentsWriter;
+    private ObjectWriter recordsWriter;
+    private ObjectReader appointmentsReader;
+    private ObjectReader recordsReader;
+
+    private List<Appointment> appointments;
+    private List<MedicalRecord> records;
+    private byte[] appointmentsBody;
+    private byte[] recordsBody;
+
+    @Setup
+    public void setUp() throws Exception {
+        ObjectMapper mapper = "cbor".equals(format) ? BenchmarkFixtures.cborMapper() : BenchmarkFixtures.objectMapper();
+        appointmentsWriter = mapper.writerFor(new TypeReference<List<Appointment>>() { });
+        recordsWriter = mapper.writerFor(new TypeReference<List<MedicalRecord>>() { });
+        appointmentsReader = mapper.readerFor(new TypeReference<List<Appointment>>() { });
+        recordsReader = mapper.readerFor(new TypeReference<List<MedicalRecord>>() { });
+
+        appointments = BenchmarkFixtures.appointments(500);
+        records = BenchmarkFixtures.medicalRecords(200);
+        appointmentsBody = appointmentsWriter.writeValueAsBytes(appointments);
+        recordsBody = recordsWriter.writeValueAsBytes(records);
+
+        System.out.printf("%n%s bytes: appointments %d (gzip %d), medical records %d (gzip %d)%n", format,
+                appointmentsBody.length, gzip(appointmentsBody).length, recordsBody.length, gzip(recordsBody).length);
+    }
+
+    @Benchmark
+    public byte[] writeAppointments() throws Exception {
+        return appointmentsWriter.writeValueAsBytes(appointments);
+    }
+
+    @Benchmark
+    public byte[] writeAppointmentsGzip() throws Exception {
+        return gzip(appointmentsWriter.writeValueAsBytes(appointments));
+    }
+
+    @Benchmark
+    public List<Appointment> readAppointments() throws Exception {
+        return appointmentsReader.readValue(appointmentsBody);
+    }
+
+    @Benchmark
+    public byte[] writeMedicalRecords() throws Exception {
+        return recordsWriter.writeValueAsBytes(records);
+    }
+
+    @Benchmark
+    public byte[] writeMedicalRecordsGzip() throws Exception {
+        return gzip(recordsWriter.writeValueAsBytes(records));
+    }
+
+    @Benchmark
+    public List<MedicalRecord> readMedicalRecords() throws Exception {
+        return recordsReader.readValue(recordsBody);
+    }
+
+    private static byte[] gzip(byte[] body) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(body.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(body);
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,65 @@
+package com.ochwada.healthcare_management.codec;
+
+
+import com.ochwada.healthcare_management.model.Appointment;
+import com.ochwada.healthcare_management.model.Status;
+import org.bson.Document;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.data.convert.ReadingConverter;
+import org.springframework.data.convert.WritingConverter;
+
+import static com.ochwada.healthcare_management.codec.BsonValues.*;
+
+/**
+ * *******************************************************
+ * Package: com.ochwada.healthcare_management.codec
+ * File: AppointmentCodec.java
+ * Author: Ochwada
+ * Date: Saturday, 17.Oct.2026, 4:18 PM
+ * Description: Hand-written mapping between {@link Appointment} and its BSON document.
+ * Objective:
+ * *******************************************************
+ */
+public final class AppointmentCodec {
+
+    private AppointmentCodec() {
+    }
+
+    /** Appointment to BSON, without a {@code _class} type hint. */
+    @WritingConverter
+    public enum Writer implements Converter<Appointment, Document> {
+        INSTANCE;
+
+        @Override
+        public Document convert(Appointment source) {
+            Document document = new Document();
+            putId(document, source.getId());
+            put(document, "patientId", source.getPatientId());
+            put(document, "doctorId", source.getDoctorId());
+            putDate(document, "date", source.getDate());
+            put(document, "reason", source.getReason());
+            putEnum(document, "status", source.getStatus());
+            put(document, "slot", source.getSlot());
+            return document;
+        }
+    }
+
+    /** BSON to Appointment; a stored {@code _class} is ignored. */
+    @ReadingConverter
+    public enum Reader implements Converter<Document, Appointment> {
+        INSTANCE;
+
+        @Override
+        public Appointment convert(Document source) {
+            Appointment appointment = new Appointment();
+            appointment.setId(getId(source));
+            appointment.setPatientId(getString(source, "patientId"));
+            appointment.setDoctorId(getString(source, "doctorId"));
+            appointment.setDate(getDate(source, "date"));
+            appointment.setReason(getString(source, "reason"));
+            appointment.setStatus(getEnum(source, "status", Status.class));
+            appointment.setSlot(getInteger(source, "slot"));
+            return appointment;
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.ochwada.healthcare_management.codec;
+
+
+import org.bson.Document;
+import org.bson.types.ObjectId;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+
+/**
+ * *******************************************************
+ * Package: com.ochwada.healthcare_management.codec
+ * File: BsonValues.java
+ * Author: Ochwada
+ * Date: Saturday, 17.Oct.2026, 4:10 PM
+ * Description: Field-level conversions shared by the specialized codecs.
+ * Objective: Produce exactly the BSON values Spring Data's generic mapping writes, so documents written by either
+ * mapping can be read by the other:
+ * - String ids that are valid ObjectId hex are stored as ObjectId, other ids as strings.
+ * - Enums are stored by {@code name()}.
+ * - {@link LocalDate} is stored as a BSON date at the start of the day in the JVM's default time zone.
+ * - {@code null} fields are omitted.
+ * *******************************************************
+ */
+final class BsonValues {
+
+    static final String ID = "_id";
+
+    private BsonValues() {
+    }
+
+    static void putId(Document document, String id) {
+        if (id != null) {
+            document.put(ID, ObjectId.isValid(id) ? new ObjectId(id) : id);
+        }
+    }
+
+    static String getId(Document document) {
+        Object id = document.get(ID);
+        if (id instanceof ObjectId objectId) {
+            return objectId.toHexString();
+        }
+        return id == null ? null : id.toString();
+    }
+
+    static void put(Document document, String field, Object value) {
+        if (value != null) {
+            document.put(field, value);
+        }
+    }
+
+    static void putEnum(Document document, String field, Enum<?> value) {
+        if (value != null) {
+            document.put(field, value.name());
+        }
+    }
+
+    static <E extends Enum<E>> E getEnum(Document document, String field, Class<E> type) {
+        Object value = document.get(field);
+        return value == null ? null : Enum.valueOf(type, value.toString());
+    }
+
+    static void putDate(Document document, String field, LocalDate value) {
+        if (value != null) {
+            document.put(field, Date.from(value.atStartOfDay(ZoneId.systemDefault()).toInstant()));
+        }
+    }
+
+    static LocalDate getDate(Document document, String field) {
+        Object value = document.get(field);
+        if (value instanceof Date date) {
+            return LocalDateTime.ofInstant(date.toInstant(), ZoneId.systemDefault()).toLocalDate();
+        }
+        return value == null ? null : LocalDate.parse(value.toString());
+    }
+
+    static String getString(Document document, String field) {
+        Object value = document.get(field);
+        return value == null ? null : value.toString();
+    }
+
+    static Integer getInteger(Document document, String field) {
+        Object value = document.get(field);
+        return value instanceof Number number ? number.intValue() : null;
+    }
+
+    static Long getLong(Document document, String field) {
+        Object value = document.get(field);
+        return value instanceof Number number ? number.longValue() : null;
+    }
+
+    static Float getFloat(Document document, String field) {
+        Object value = document.get(field);
+        return value instanceof Number number ? number.floatValue() : null;
+    }
+
+    static int getInt(Document document, String field) {
+        Object value = document.get(field);
+        return value instanceof Number number ? number.intValue() : 0;
+    }
+}
@@ -0,0 +1,62 @@
+package com.ochwada.healthcare_management.codec;
+
+
+import com.ochwada.healthcare_management.model.Doctor;
+import org.bson.Document;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.data.convert.ReadingConverter;
+import org.springframework.data.convert.WritingConverter;
+
+import static com.ochwada.healthcare_management.codec.BsonValues.*;
+
+/**
+ * *******************************************************
+ * Package: com.ochwada.healthcare_management.codec
+ * File: DoctorCodec.java
+ * Author: Ochwada
+ * Date: Saturday, 17.Oct.2026, 4:25 PM
+ * Description: Hand-written mapping between {@link Doctor} and its BSON document.
+ * Objective:
+ * *******************************************************
+ */
+public final class DoctorCodec {
+
+    private DoctorCodec() {
+    }
+
+    /** Doctor to BSON, without a {@code _class} type hint. */
+    @WritingConverter
+    public enum Writer implements Converter<Doctor, Document> {
+        INSTANCE;
+
+        @Override
+        public Document convert(Doctor source) {
+            Document document = new Document();
+            putId(document, source.getId());
+            put(document, "name", source.getName());
+            put(document, "speciality", source.getSpeciality());
+            document.put("yearsOfExperience", source.getYearsOfExperience());
+            put(document, "email", source.getEmail());
+            put(document, "version", source.getVersion());
+            return document;
+        }
+    }
+
+    /** BSON to Doctor; a stored {@code _class} is ignored. */
+    @ReadingConverter
+    public enum Reader implements Converter<Document, Doctor> {
+        INSTANCE;
+
+        @Override
+        public Doctor convert(Document source) {
+            Doctor doctor = new Doctor();
+            doctor.setId(getId(source));
+            doctor.setName(getString(source, "name"));
+            doctor.setSpeciality(getString(source, "speciality"));
+            doctor.setYearsOfExperience(getInt(source, "yearsOfExperience"));
+            doctor.setEmail(getString(source, "email"));
+            doctor.setVersion(getLong(source, "version"));
+            return doctor;
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.ochwada.healthcare_management.codec;
+
+
+import com.ochwada.healthcare_management.model.MedicalRecord;
+import org.bson.Document;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.data.convert.ReadingConverter;
+import org.springframework.data.convert.WritingConverter;
+
+import static com.ochwada.healthcare_management.codec.BsonValues.*;
+
+/**
+ * *******************************************************
+ * Package: com.ochwada.healthcare_management.codec
+ * File: MedicalRecordCodec.java
+ * Author: Ochwada
+ * Date: Saturday, 17.Oct.2026, 4:28 PM
+ * Description: Hand-written mapping between {@link MedicalRecord} and its BSON document.
+ * Objective:
+ * *******************************************************
+ */
+public final class MedicalRecordCodec {
+
+    private MedicalRecordCodec() {
+    }
+
+    /** MedicalRecord to BSON, without a {@code _class} type hint. */
+    @WritingConverter
+    public enum Writer implements Converter<MedicalRecord, Document> {
+        INSTANCE;
+
+        @Override
+        public Document convert(MedicalRecord source) {
+            Document document = new Document();
+            putId(document, source.getId());
+            put(document, "patientID", source.getPatientID());
+            put(document, "diagnosis", source.getDiagnosis());
+            put(document, "treatment", source.getTreatment());
+            putDate(document, "createdOn", source.getCreatedOn());
+            return document;
+        }
+    }
+
+    /** BSON to MedicalRecord; a stored {@code _class} is ignored. The text score is only present on searches. */
+    @ReadingConverter
+    public enum Reader implements Converter<Document, MedicalRecord> {
+        INSTANCE;
+
+        @Override
+        public MedicalRecord convert(Document source) {
+            MedicalRecord record = new MedicalRecord();
+            record.setId(getId(source));
+            record.setPatientID(getString(source, "patientID"));
+            record.setDiagnosis(getString(source, "diagnosis"));
+            record.setTreatment(getString(source, "treatment"));
+            record.setCreatedOn(getDate(source, "createdOn"));
+            record.setScore(getFloat(source, "score"));
+            return record;
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.ochwada.healthcare_management.codec;
+
+
+import com.ochwada.healthcare_management.model.Gender;
+import com.ochwada.healthcare_management.model.Patient;
+import org.bson.Document;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.data.convert.ReadingConverter;
+import org.springframework.data.convert.WritingConverter;
+
+import static com.ochwada.healthcare_management.codec.BsonValues.*;
+
+/**
+ * *******************************************************
+ * Package: com.ochwada.healthcare_management.codec
+ * File: PatientCodec.java
+ * Author: Ochwada
+ * Date: Saturday, 17.Oct.2026, 4:22 PM
+ * Description: Hand-written mapping between {@link Patient} and its BSON document.
+ * Objective:
+ * *******************************************************
+ */
+public final class PatientCodec {
+
+    private PatientCodec() {
+    }
+
+    /** Patient to BSON, without a {@code _class} type hint. */
+    @WritingConverter
+    public enum Writer implements Converter<Patient, Document> {
+        INSTANCE;
+
+        @Override
+        public Document convert(Patient source) {
+            Document document = new Document();
+            putId(document, source.getId());
+            put(document, "name", source.getName());
+            document.put("age", source.getAge());
+            putEnum(document, "gender", source.getGender());
+            put(document, "email", source.getEmail());
+            put(document, "phoneNumber", source.getPhoneNumber());
+            put(document, "version", source.getVersion());
+            return document;
+        }
+    }
+
+    /** BSON to Patient; a stored {@code _class} is ignored. */
+    @ReadingConverter
+    public enum Reader implements Converter<Document, Patient> {
+        INSTANCE;
+
+        @Override
+        public Patient convert(Document source) {
+            Patient patient = new Patient();
+            patient.setId(getId(source));
+            patient.setName(getString(source, "name"));
+            patient.setAge(getInt(source, "age"));
+            patient.setGender(getEnum(source, "gender", Gender.class));
+            patient.setEmail(getString(source, "email"));
+            patient.setPhoneNumber(getString(source, "phoneNumber"));
+            patient.setVersion(getLong(source, "version"));
+            return patient;
+        }
+    }
+}
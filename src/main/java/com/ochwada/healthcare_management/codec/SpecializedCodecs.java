@@ -0,0 +1,32 @@
+package com.ochwada.healthcare_management.codec;
+
+
+import java.util.List;
+
+/**
+ * *******************************************************
+ * Package: com.ochwada.healthcare_management.codec
+ * File: SpecializedCodecs.java
+ * Author: Ochwada
+ * Date: Saturday, 17.Oct.2026, 4:31 PM
+ * Description: The hand-written entity codecs, as Spring Data custom conversions.
+ * Objective: Registered with {@code MongoCustomConversions}, they replace the reflective, type-hinted mapping of
+ * {@code MappingMongoConverter} for the four entities while queries keep using the entity metadata.
+ * *******************************************************
+ */
+public final class SpecializedCodecs {
+
+    private SpecializedCodecs() {
+    }
+
+    /**
+     * @return reading and writing converters for Appointment, Patient, Doctor and MedicalRecord
+     */
+    public static List<Object> converters() {
+        return List.of(
+                AppointmentCodec.Writer.INSTANCE, AppointmentCodec.Reader.INSTANCE,
+                PatientCodec.Writer.INSTANCE, PatientCodec.Reader.INSTANCE,
+                DoctorCodec.Writer.INSTANCE, DoctorCodec.Reader.INSTANCE,
+                MedicalRecordCodec.Writer.INSTANCE, MedicalRecordCodec.Reader.INSTANCE);
+    }
+}
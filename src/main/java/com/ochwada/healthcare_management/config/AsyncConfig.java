@@ -0,0 +1,22 @@
+package com.ochwada.healthcare_management.config;
+
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+
+/**
+ * *******************************************************
+ * Package: com.ochwada.healthcare_management.config
+ * File: AsyncConfig.java
+ * Author: Ochwada
+ * Date: Saturday, 17.Oct.2026, 10:41 AM
+ * Description: Enables {@code @Async} methods. They run on Spring Boot's auto-configured application task executor.
+ * Objective: Keep start-up housekeeping (e.g. index builds) off the main thread.
+ * - Class-based proxies, as for Spring Boot's other AOP, so {@code @Async} also works on beans that implement an
+ *   interface without declaring the async method.
+ * *******************************************************
+ */
+@Configuration
+@EnableAsync(proxyTargetClass = true)
+public class AsyncConfig {
+}
@@ -0,0 +1,27 @@
+package com.ochwada.healthcare_management.config;
+
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * *******************************************************
+ * Package: com.ochwada.healthcare_management.config
+ * File: CacheConfig.java
+ * Author: Ochwada
+ * Date: Saturday, 17.Oct.2026, 11:20 AM
+ * Description: Enables Spring's cache abstraction. Spring Boot backs it with Caffeine; size, TTL and statistics
+ * are set by {@code spring.cache.caffeine.spec} in application.properties.
+ * Objective: Declare the cache names shared by the services that read and invalidate them.
+ * *******************************************************
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    /** Doctors by id. */
+    public static final String DOCTORS = "doctors";
+
+    /** Lists of doctors by speciality. */
+    public static final String DOCTORS_BY_SPECIALITY = "doctorsBySpeciality";
+}
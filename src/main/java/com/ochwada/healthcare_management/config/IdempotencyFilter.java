@@ -0,0 +1,232 @@
+package com.ochwada.healthcare_management.config;
+
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ochwada.healthcare_management.service.IdempotencyStore;
+import com.ochwada.healthcare_management.service.IdempotencyStore.Claim;
+import com.ochwada.healthcare_management.service.IdempotencyStore.StoredResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * *******************************************************
+ * Package: com.ochwada.healthcare_management.config
+ * File: IdempotencyFilter.java
+ * Author: Ochwada
+ * Date: Sunday, 18.Oct.2026, 2:05 AM
+ * Description: {@code Idempotency-Key} support for the POST endpoints listed in {@code healthcare.idempotency.paths}.
+ * - The first request with a key is processed and its response stored (see {@link IdempotencyStore}); a retry with
+ *   the same key and body gets that response again, marked {@code Idempotent-Replayed: true}, without a write.
+ * - A retry arriving while the first request is still processed is answered with 409, a key reused with another
+ *   body with 422.
+ * - Only successes and the 400/422 answers a retry would get again are stored. Any other response (e.g. a 409
+ *   "booked concurrently; please retry" or a 503) releases the key, so the client's next retry is processed again.
+ * - Requests without the header are not affected.
+ * Objective: Stop client retries after timeouts from creating duplicate appointments and patients.
+ * *******************************************************
+ */
+@Component
+@ConditionalOnProperty(name = "healthcare.idempotency.enabled", havingValue = "true", matchIfMissing = true)
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final IdempotencyStore store;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry registry;
+    private final Set<String> paths;
+
+    /**
+     * @param store        the keys and stored responses
+     * @param objectMapper the API's Jackson mapper, writing error bodies like GlobalExceptionHandler
+     * @param registry     the registry of the {@code healthcare.idempotency.requests} counter
+     * @param paths        the POST endpoints honouring the header
+     */
+    public IdempotencyFilter(IdempotencyStore store,
+                             ObjectMapper objectMapper,
+                             MeterRegistry registry,
+                             @Value("${healthcare.idempotency.paths:/appointments,/patients/add-patient}") List<String> paths) {
+        this.store = store;
+        this.objectMapper = objectMapper;
+        this.registry = registry;
+        this.paths = new HashSet<>(paths);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !HttpMethod.POST.matches(request.getMethod())
+                || request.getHeader(HEADER) == null
+                || !paths.contains(request.getServletPath());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String header = request.getHeader(HEADER).strip();
+        if (header.isEmpty() || header.length() > MAX_KEY_LENGTH) {
+            error(response, HttpStatus.BAD_REQUEST,
+                    HEADER + " must have between 1 and " + MAX_KEY_LENGTH + " characters");
+            return;
+        }
+        String key = request.getServletPath() + " " + header;
+        byte[] body = request.getInputStream().readAllBytes();
+        String requestHash = sha256(body);
+
+        Claim claim = store.claim(key, requestHash);
+        registry.counter("healthcare.idempotency.requests", "outcome", claim.outcome().name().toLowerCase()).increment();
+        switch (claim.outcome()) {
+            case REPLAY -> replay(response, claim.response());
+            case IN_PROGRESS -> error(response, HttpStatus.CONFLICT,
+                    "A request with this " + HEADER + " is still being processed; retry later");
+            case MISMATCH -> error(response, HttpStatus.UNPROCESSABLE_ENTITY,
+                    "This " + HEADER + " was already used for a different request");
+            case CLAIMED -> process(new CachedBodyRequest(request, body), response, chain, key, requestHash);
+        }
+    }
+
+    private void process(HttpServletRequest request, HttpServletResponse response, FilterChain chain,
+                         String key, String requestHash) throws ServletException, IOException {
+        ContentCachingResponseWrapper captured = new ContentCachingResponseWrapper(response);
+        boolean stored = false;
+        try {
+            chain.doFilter(request, captured);
+            if (isReplayable(captured.getStatus())) {
+                store.complete(key, new StoredResponse(requestHash, captured.getStatus(),
+                        captured.getContentType(), captured.getContentAsByteArray()));
+                stored = true;
+            }
+        } finally {
+            if (!stored) {
+                store.release(key);
+            }
+            captured.copyBodyToResponse();
+        }
+    }
+
+    /**
+     * @return whether a retry of the same request would get the same response, so it can be replayed
+     */
+    static boolean isReplayable(int status) {
+        return (status >= 200 && status < 300)
+                || status == HttpStatus.BAD_REQUEST.value()
+                || status == HttpStatus.UNPROCESSABLE_ENTITY.value();
+    }
+
+    private static void replay(HttpServletResponse response, StoredResponse stored) throws IOException {
+        response.setStatus(stored.status());
+        if (stored.contentType() != null) {
+            response.setContentType(stored.contentType());
+        }
+        response.setHeader(REPLAYED_HEADER, "true");
+        response.setContentLength(stored.body().length);
+        response.getOutputStream().write(stored.body());
+    }
+
+    private void error(HttpServletResponse response, HttpStatus status, String message) throws IOException {
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        objectMapper.writeValue(response.getOutputStream(), Map.of("error", message));
+    }
+
+    private static String sha256(byte[] body) {
+        try {
+            return Base64.getEncoder().encodeToString(MessageDigest.getInstance("SHA-256").digest(body));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * The request with its body already read, for the hash, served again to the controller.
+     */
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream in = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public int read() {
+                    return in.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return in.read(b, off, len);
+                }
+
+                @Override
+                public boolean isFinished() {
+                    return in.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    // The whole body is in memory: it can be read at once and nothing more will arrive
+                    try {
+                        listener.onDataAvailable();
+                        listener.onAllDataRead();
+                    } catch (IOException e) {
+                        listener.onError(e);
+                    }
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() throws UnsupportedEncodingException {
+            String encoding = getCharacterEncoding() == null ? StandardCharsets.UTF_8.name() : getCharacterEncoding();
+            return new BufferedReader(new InputStreamReader(getInputStream(), encoding));
+        }
+
+        @Override
+        public int getContentLength() {
+            return body.length;
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return body.length;
+        }
+    }
+}
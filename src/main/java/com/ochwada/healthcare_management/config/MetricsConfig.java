@@ -0,0 +1,52 @@
+package com.ochwada.healthcare_management.config;
+
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+
+/**
+ * *******************************************************
+ * Package: com.ochwada.healthcare_management.config
+ * File: MetricsConfig.java
+ * Author: Ochwada
+ * Date: Saturday, 17.Oct.2026, 5:12 PM
+ * Description: Hot-path instrumentation, exposed on {@code /actuator/metrics}:
+ * - {@code http.server.requests}: per-endpoint latency (Spring Boot).
+ * - {@code healthcare.service}: per-service-method latency, from {@code @Timed} on the services.
+ * - {@code spring.data.repository.invocations}: per-repository-method latency (Spring Boot).
+ * - {@code healthcare.repository.results}: per-repository-method result sizes ({@link RepositoryResultSizeInterceptor}).
+ * - {@code mongodb.driver.commands}: driver command timings tagged by collection and command (Spring Boot).
+ * Percentiles and histograms are configured per metric in application.properties.
+ * Objective:
+ * *******************************************************
+ */
+@Configuration
+public class MetricsConfig {
+
+    /**
+     * 1. Adds a {@link RepositoryResultSizeInterceptor} to every repository proxy.
+     * - Static, and resolving the registry lazily, so the post-processor does not initialize meters (or anything
+     *   they depend on) before the regular beans.
+     *
+     * @param registry the application's meter registry
+     * @return post-processor customizing the repository factories before they create their proxies
+     */
+    @Bean
+    public static BeanPostProcessor repositoryResultSizePostProcessor(ObjectProvider<MeterRegistry> registry) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+                    factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+                            (proxyFactory, information) -> proxyFactory.addAdvice(new RepositoryResultSizeInterceptor(
+                                    registry.getObject(), information.getRepositoryInterface().getSimpleName()))));
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,49 @@
+package com.ochwada.healthcare_management.config;
+
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * *******************************************************
+ * Package: com.ochwada.healthcare_management.config
+ * File: MongoClientConfig.java
+ * Author: Ochwada
+ * Date: Saturday, 17.Oct.2026, 2:20 PM
+ * Description: Sizes the MongoDB driver's connection pool from application properties.
+ * Objective:
+ * - The pool is the real concurrency limit of every request that reads or writes MongoDB.
+ * - With virtual threads the servlet container no longer caps concurrency, so the admission limit of
+ *   {@link VirtualThreadAdmissionFilter} is derived from the same {@code max-size}; requests then wait in front of
+ *   the application (and fail fast with 503) instead of piling up in the driver's wait queue.
+ * *******************************************************
+ */
+@Configuration
+public class MongoClientConfig {
+
+    /**
+     * Applies the pool settings to both the blocking and (when enabled) the reactive MongoDB client.
+     *
+     * @param maxSize        maximum number of connections per server
+     * @param minSize        connections kept open while idle
+     * @param maxConnecting  connections that may be established concurrently
+     * @param maxWaitMillis  how long an operation waits for a free connection before failing
+     * @return the customizer applied by Spring Boot when building the client settings
+     */
+    @Bean
+    public MongoClientSettingsBuilderCustomizer connectionPoolCustomizer(
+            @Value("${healthcare.mongo.pool.max-size:100}") int maxSize,
+            @Value("${healthcare.mongo.pool.min-size:0}") int minSize,
+            @Value("${healthcare.mongo.pool.max-connecting:2}") int maxConnecting,
+            @Value("${healthcare.mongo.pool.max-wait-ms:2000}") long maxWaitMillis) {
+        return settings -> settings.applyToConnectionPoolSettings(pool -> pool
+                .maxSize(maxSize)
+                .minSize(minSize)
+                .maxConnecting(maxConnecting)
+                .maxWaitTime(maxWaitMillis, TimeUnit.MILLISECONDS));
+    }
+}
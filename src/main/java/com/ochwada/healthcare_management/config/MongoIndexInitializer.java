@@ -0,0 +1,208 @@
+package com.ochwada.healthcare_management.config;
+
+
+import com.ochwada.healthcare_management.model.Appointment;
+import com.ochwada.healthcare_management.model.MedicalRecord;
+import com.ochwada.healthcare_management.model.Status;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.QueryMapper;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver.IndexDefinitionHolder;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.*;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+/**
+ * *******************************************************
+ * Package: com.ochwada.healthcare_management.config
+ * File: MongoIndexInitializer.java
+ * Author: Ochwada
+ * Date: Saturday, 17.Oct.2026, 10:44 AM
+ * Description: Creates the indexes declared on the {@code @Document} models and checks that the repository
+ * queries actually use them.
+ * Objective:
+ * - Runs once the application is ready, on the async executor, so start-up and readiness are never blocked.
+ * - Creates only the declared indexes that are missing from their collection.
+ * - Explains one probe query per repository finder and logs a warning for every plan that contains a COLLSCAN.
+ * *******************************************************
+ */
+@Component
+public class MongoIndexInitializer {
+
+    private static final Logger log = LoggerFactory.getLogger(MongoIndexInitializer.class);
+
+    /**
+     * Probe queries mirroring the repository finders, keyed by "Repository.method".
+     * The values are irrelevant; only the shape of the filter decides the query plan.
+     */
+    private static final Map<String, Probe> PROBES = new LinkedHashMap<>();
+
+    static {
+        LocalDate today = LocalDate.now();
+        PROBES.put("AppointmentRepository.findByPatientId",
+                new Probe(Appointment.class, new Query(where("patientId").is("probe"))));
+        PROBES.put("AppointmentRepository.findByDoctorId",
+                new Probe(Appointment.class, new Query(where("doctorId").is("probe"))));
+        PROBES.put("AppointmentRepository.findAppointmentsByStatus",
+                new Probe(Appointment.class, new Query(where("status").is(Status.SCHEDULED))));
+        PROBES.put("AppointmentRepository.findByDoctorIdAndDateAndStatusNot",
+                new Probe(Appointment.class, new Query(where("doctorId").is("probe").and("date").is(today)
+                        .and("status").ne(Status.CANCELLED))));
+        PROBES.put("MedicalRecordRepository.findPatientHistory",
+                new Probe(MedicalRecord.class, new Query(where("patientID").is("probe")
+                        .and("createdOn").gte(today.minusYears(1)).lte(today))));
+        PROBES.put("AppointmentRepository.findByDateBetween",
+                new Probe(Appointment.class, new Query(where("date").gt(today).lt(today.plusDays(1)))));
+    }
+
+    private final MongoTemplate mongoTemplate;
+    private final MongoMappingContext mappingContext;
+    private final boolean createIndexes;
+    private final boolean verifyIndexUsage;
+
+    /**
+     * Constructor-based dependency injection.
+     *
+     * @param mongoTemplate    template used to inspect and create indexes and to explain probe queries
+     * @param mappingContext   mapping metadata holding the {@code @Document} models and their index annotations
+     * @param createIndexes    whether missing indexes are created at start-up
+     * @param verifyIndexUsage whether the probe queries are explained and COLLSCANs reported
+     */
+    public MongoIndexInitializer(MongoTemplate mongoTemplate,
+                                 MongoMappingContext mappingContext,
+                                 @Value("${healthcare.mongo.create-indexes:true}") boolean createIndexes,
+                                 @Value("${healthcare.mongo.verify-index-usage:true}") boolean verifyIndexUsage) {
+        this.mongoTemplate = mongoTemplate;
+        this.mappingContext = mappingContext;
+        this.createIndexes = createIndexes;
+        this.verifyIndexUsage = verifyIndexUsage;
+    }
+
+    /**
+     * Creates missing indexes and then verifies index usage, once the application is ready to serve traffic.
+     * Failures are logged and never stop the application.
+     */
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        try {
+            if (createIndexes) {
+                createMissingIndexes();
+            }
+            if (verifyIndexUsage) {
+                verifyIndexUsage();
+            }
+        } catch (RuntimeException e) {
+            log.warn("MongoDB index initialization did not complete: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Creates, for every {@code @Document} model, the declared indexes whose name is not yet present on its collection.
+     */
+    void createMissingIndexes() {
+        MongoPersistentEntityIndexResolver resolver = new MongoPersistentEntityIndexResolver(mappingContext);
+
+        for (MongoPersistentEntity<?> entity : mappingContext.getPersistentEntities()) {
+            if (!entity.isAnnotationPresent(org.springframework.data.mongodb.core.mapping.Document.class)) {
+                continue;
+            }
+            List<IndexDefinitionHolder> declared = resolver.resolveIndexForEntity(entity);
+            if (declared.isEmpty()) {
+                continue;
+            }
+
+            IndexOperations indexOps = mongoTemplate.indexOps(entity.getCollection());
+            Set<String> existing = new HashSet<>();
+            for (IndexInfo info : indexOps.getIndexInfo()) {
+                existing.add(info.getName());
+            }
+
+            for (IndexDefinitionHolder index : declared) {
+                String name = index.getIndexOptions().getString("name");
+                if (name != null && existing.contains(name)) {
+                    continue;
+                }
+                try {
+                    String created = indexOps.createIndex(index);
+                    log.info("Created index '{}' on '{}' {}", created, entity.getCollection(), index.getIndexKeys());
+                } catch (RuntimeException e) {
+                    log.warn("Could not create index {} on '{}': {}", index.getIndexKeys(), entity.getCollection(),
+                            e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * Explains every probe query and logs a warning for each winning plan that scans the whole collection.
+     */
+    void verifyIndexUsage() {
+        QueryMapper queryMapper = new QueryMapper(mongoTemplate.getConverter());
+
+        PROBES.forEach((finder, probe) -> {
+            MongoPersistentEntity<?> entity = mappingContext.getRequiredPersistentEntity(probe.type());
+            Document filter = queryMapper.getMappedObject(probe.query().getQueryObject(), entity);
+            Document explain = mongoTemplate.getCollection(entity.getCollection()).find(filter).explain();
+
+            Object winningPlan = explain.get("queryPlanner", Document.class).get("winningPlan");
+            if (containsStage(winningPlan, "COLLSCAN")) {
+                log.warn("{} runs a COLLSCAN on '{}' (filter {}); a supporting index is missing",
+                        finder, entity.getCollection(), filter.toJson());
+            } else {
+                log.debug("{} is served by an index", finder);
+            }
+        });
+    }
+
+    /**
+     * Walks an explain plan tree (documents with nested {@code inputStage}/{@code inputStages}) looking for a stage.
+     *
+     * @param node  a plan node, list of nodes or leaf value
+     * @param stage the stage name to look for, e.g. "COLLSCAN"
+     * @return {@code true} if any node of the tree is of the given stage
+     */
+    static boolean containsStage(Object node, String stage) {
+        if (node instanceof Document document) {
+            if (stage.equals(document.get("stage"))) {
+                return true;
+            }
+            for (Object child : document.values()) {
+                if (containsStage(child, stage)) {
+                    return true;
+                }
+            }
+        } else if (node instanceof List<?> list) {
+            for (Object child : list) {
+                if (containsStage(child, stage)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * A query shaped like the one a repository finder issues.
+     *
+     * @param type  the {@code @Document} model the finder reads
+     * @param query the representative query
+     */
+    private record Probe(Class<?> type, Query query) {
+    }
+}
@@ -0,0 +1,36 @@
+package com.ochwada.healthcare_management.config;
+
+
+import com.ochwada.healthcare_management.codec.SpecializedCodecs;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+
+/**
+ * *******************************************************
+ * Package: com.ochwada.healthcare_management.config
+ * File: MongoMappingConfig.java
+ * Author: Ochwada
+ * Date: Saturday, 17.Oct.2026, 4:35 PM
+ * Description: Chooses how entities are mapped to BSON, with {@code healthcare.mongo.mapping}:
+ * - {@code generic} (default): Spring Data's reflective mapping, writing a {@code _class} type hint.
+ * - {@code specialized}: the hand-written codecs of {@link SpecializedCodecs}, without {@code _class}.
+ * Both produce and accept the same documents, so the switch can be flipped on a live database.
+ * Objective:
+ * *******************************************************
+ */
+@Configuration
+public class MongoMappingConfig {
+
+    /**
+     * Replaces Spring Boot's default (empty) custom conversions with the specialized entity codecs.
+     *
+     * @return custom conversions registering the entity codecs
+     */
+    @Bean
+    @ConditionalOnProperty(name = "healthcare.mongo.mapping", havingValue = "specialized")
+    public MongoCustomConversions specializedConversions() {
+        return new MongoCustomConversions(SpecializedCodecs.converters());
+    }
+}
@@ -0,0 +1,91 @@
+package com.ochwada.healthcare_management.config;
+
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.reactivestreams.Publisher;
+import org.springframework.data.domain.Slice;
+
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * *******************************************************
+ * Package: com.ochwada.healthcare_management.config
+ * File: RepositoryResultSizeInterceptor.java
+ * Author: Ochwada
+ * Date: Saturday, 17.Oct.2026, 5:05 PM
+ * Description: Records how many documents each repository method returns, as the distribution summary
+ * {@code healthcare.repository.results} tagged with {@code repository} and {@code method}.
+ * Objective:
+ * - Latency of the same calls is recorded by Spring Boot as {@code spring.data.repository.invocations}; together
+ *   they show which finders are slow because they are unselective.
+ * - Sizes are counted for collections, slices/pages, optionals and single entities; counts, streams and reactive
+ *   types are not recorded (they are not materialized by the call).
+ * - Summaries are resolved once per method, so the request path only pays for a map lookup and a record.
+ * *******************************************************
+ */
+public class RepositoryResultSizeInterceptor implements MethodInterceptor {
+
+    public static final String METRIC_NAME = "healthcare.repository.results";
+
+    private final MeterRegistry registry;
+    private final String repository;
+    private final Map<Method, DistributionSummary> summaries = new ConcurrentHashMap<>();
+
+    /**
+     * @param registry   registry the summaries are registered with
+     * @param repository simple name of the repository interface, used as the {@code repository} tag
+     */
+    public RepositoryResultSizeInterceptor(MeterRegistry registry, String repository) {
+        this.registry = registry;
+        this.repository = repository;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        Object result = invocation.proceed();
+        long size = sizeOf(result);
+        if (size >= 0) {
+            summaries.computeIfAbsent(invocation.getMethod(), this::summary).record(size);
+        }
+        return result;
+    }
+
+    private DistributionSummary summary(Method method) {
+        return DistributionSummary.builder(METRIC_NAME)
+                .description("Documents returned per repository call")
+                .baseUnit("documents")
+                .tag("repository", repository)
+                .tag("method", method.getName())
+                .register(registry);
+    }
+
+    /**
+     * @return the number of documents in a result, or -1 when the result is not a materialized document set
+     */
+    private static long sizeOf(Object result) {
+        if (result == null) {
+            return 0;
+        }
+        if (result instanceof Collection<?> collection) {
+            return collection.size();
+        }
+        if (result instanceof Slice<?> slice) {
+            return slice.getNumberOfElements();
+        }
+        if (result instanceof Optional<?> optional) {
+            return optional.isPresent() ? 1 : 0;
+        }
+        if (result instanceof Number || result instanceof Boolean || result instanceof AutoCloseable
+                || result instanceof Publisher<?>) {
+            return -1;
+        }
+        return 1;
+    }
+}
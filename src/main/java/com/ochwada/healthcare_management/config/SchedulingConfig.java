@@ -0,0 +1,20 @@
+package com.ochwada.healthcare_management.config;
+
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * *******************************************************
+ * Package: com.ochwada.healthcare_management.config
+ * File: SchedulingConfig.java
+ * Author: Ochwada
+ * Date: Saturday, 17.Oct.2026, 7:20 PM
+ * Description: Enables {@code @Scheduled} methods. They run on Spring Boot's auto-configured task scheduler.
+ * Objective: Periodic maintenance such as the appointment rollup rebuild.
+ * *******************************************************
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -0,0 +1,72 @@
+package com.ochwada.healthcare_management.config;
+
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * *******************************************************
+ * Package: com.ochwada.healthcare_management.config
+ * File: VirtualThreadAdmissionFilter.java
+ * Author: Ochwada
+ * Date: Saturday, 17.Oct.2026, 2:28 PM
+ * Description: Caps the number of requests processed at once when Tomcat runs on virtual threads.
+ * Objective:
+ * - On platform threads Tomcat's thread pool is the cap; on virtual threads there is none, and every extra request
+ *   would queue inside the MongoDB driver waiting for a connection.
+ * - Admits at most {@code max-concurrent-requests} requests (by default the connection pool size); others wait for a
+ *   slot on their (cheap) virtual thread up to {@code admission-timeout-ms} and are then answered with 503.
+ * *******************************************************
+ */
+@Component
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadAdmissionFilter extends OncePerRequestFilter {
+
+    private final Semaphore permits;
+    private final long admissionTimeoutMillis;
+
+    /**
+     * @param maxConcurrentRequests  requests processed at once; defaults to the MongoDB connection pool size
+     * @param admissionTimeoutMillis how long a request waits for a slot before being rejected
+     */
+    public VirtualThreadAdmissionFilter(
+            @Value("${healthcare.virtual-threads.max-concurrent-requests:${healthcare.mongo.pool.max-size:100}}")
+            int maxConcurrentRequests,
+            @Value("${healthcare.virtual-threads.admission-timeout-ms:1000}") long admissionTimeoutMillis) {
+        this.permits = new Semaphore(maxConcurrentRequests, true);
+        this.admissionTimeoutMillis = admissionTimeoutMillis;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        boolean admitted;
+        try {
+            admitted = permits.tryAcquire(admissionTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            admitted = false;
+        }
+        if (!admitted) {
+            response.sendError(HttpStatus.SERVICE_UNAVAILABLE.value(), "Server busy, retry later");
+            return;
+        }
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            permits.release();
+        }
+    }
+}
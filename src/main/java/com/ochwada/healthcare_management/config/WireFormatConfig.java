@@ -0,0 +1,40 @@
+package com.ochwada.healthcare_management.config;
+
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * *******************************************************
+ * Package: com.ochwada.healthcare_management.config
+ * File: WireFormatConfig.java
+ * Author: Ochwada
+ * Date: Saturday, 17.Oct.2026, 10:35 PM
+ * Description: CBOR ({@code application/cbor}) next to JSON on every controller, chosen by the {@code Accept}
+ * header for responses and by {@code Content-Type} for request bodies.
+ * - Spring MVC adds a CBOR converter on its own once the format is on the classpath, but with a plain mapper;
+ *   this one replaces it (same type, same position after JSON) with a mapper built from Spring Boot's Jackson
+ *   builder. CBOR therefore shares the JSON mapper's modules, ISO dates, {@code spring.jackson.*} settings and the
+ *   {@code @JsonValue}/{@code @JsonCreator} mapping of {@code Gender} and {@code Status}.
+ * - Clients sending {@code Accept: *}{@code /*} or no {@code Accept} header keep getting JSON.
+ * Objective: Cut encoding CPU and payload size for internal clients reading large result sets.
+ * *******************************************************
+ */
+@Configuration
+public class WireFormatConfig {
+
+    /**
+     * 1.
+     * CBOR converter using the application's Jackson configuration.
+     *
+     * @param objectMapperBuilder Spring Boot's Jackson builder, with the application's customizations applied
+     * @return the converter Spring Boot puts in place of Spring MVC's default CBOR converter
+     */
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder objectMapperBuilder) {
+        return new MappingJackson2CborHttpMessageConverter(objectMapperBuilder.factory(new CBORFactory()).build());
+    }
+}
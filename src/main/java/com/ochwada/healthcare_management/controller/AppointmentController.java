@@ -1,15 +1,23 @@
 package com.ochwada.healthcare_management.controller;
 
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.ochwada.healthcare_management.dto.AppointmentCounts;
+import com.ochwada.healthcare_management.dto.BulkInsertResponse;
+import com.ochwada.healthcare_management.dto.StatusChange;
 import com.ochwada.healthcare_management.model.Appointment;
 import com.ochwada.healthcare_management.model.Status;
+import com.ochwada.healthcare_management.service.AppointmentExpander;
+import com.ochwada.healthcare_management.service.AppointmentRollupService;
 import com.ochwada.healthcare_management.service.AppointmentService;
 import jakarta.validation.Valid;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 
 
 /**
@@ -29,15 +37,22 @@ public class AppointmentController {
     // Dependency on the Appointment to delegate business logic
 
     private final AppointmentService service;
+    private final AppointmentRollupService rollupService;
+    private final AppointmentExpander expander;
 
     /**
      * Constructor-based dependency injection for the AppointmentService
      * Spring automatically injects the required bean at runtime
      *
-     * @param service the service handling Appointment-related operations
+     * @param service       the service handling Appointment-related operations
+     * @param rollupService the service reading and rebuilding the appointment rollups
+     * @param expander      the service embedding doctor and patient summaries in appointment lists
      */
-    public AppointmentController(AppointmentService service) {
+    public AppointmentController(AppointmentService service, AppointmentRollupService rollupService,
+                                 AppointmentExpander expander) {
         this.service = service;
+        this.rollupService = rollupService;
+        this.expander = expander;
     }
 
     /**
@@ -62,6 +77,24 @@ public class AppointmentController {
         return service.addAppointment(appointment);
     }
 
+    /**
+     * 1b.
+     * Adds many appointments in one request.
+     *
+     * <p>The body is a JSON array of appointments. Every item is validated with the same constraints as
+     * {@link #addAppointment(Appointment)}; valid ones are written in unordered MongoDB bulk writes. A bad item never
+     * aborts the batch: the response reports, for every item in request order, its inserted id or its errors.
+     * Items are taken as raw JSON so that one unreadable item (e.g. an unknown status) is reported instead of
+     * failing the whole request.
+     *
+     * @param items the appointments to add
+     * @return a {@link BulkInsertResponse} with totals and one result per item
+     */
+    @PostMapping("/bulk")
+    public BulkInsertResponse addAppointments(@RequestBody List<JsonNode> items) {
+        return service.addAppointments(items);
+    }
+
 
     /**
      * 2.
@@ -70,11 +103,13 @@ public class AppointmentController {
      * <p>This endpoint uses the doctor’s ID as a path variable to query all related appointments.
      *
      * @param doctorId the ID of the doctor whose appointments are being retrieved
+     * @param expand   summaries to embed in every appointment: {@code doctor} and/or {@code patient}
      * @return a list of {@link Appointment} objects for the specified doctor, or an empty list if none found
      */
     @GetMapping("/doctors/{doctorId}")
-    public List<Appointment> findAllAppointmentsForDoctor(@PathVariable String doctorId) {
-        return service.getAllAppointmentsForDoctor(doctorId);
+    public List<?> findAllAppointmentsForDoctor(@PathVariable String doctorId,
+                                                @RequestParam(required = false) List<String> expand) {
+        return expanded(service.getAllAppointmentsForDoctor(doctorId), expand);
     }
 
     /**
@@ -85,11 +120,13 @@ public class AppointmentController {
      * from the system via the service layer.
      *
      * @param patientId the ID of the patient whose appointments are being retrieved
+     * @param expand    summaries to embed in every appointment: {@code doctor} and/or {@code patient}
      * @return a list of {@link Appointment} objects for the specified patient, or an empty list if none are found
      */
     @GetMapping("/patients/{patientId}")
-    public List<Appointment> findAllAppointmentsForPatient(@PathVariable String patientId) {
-        return service.getAllAppointmentsForPatient(patientId);
+    public List<?> findAllAppointmentsForPatient(@PathVariable String patientId,
+                                                 @RequestParam(required = false) List<String> expand) {
+        return expanded(service.getAllAppointmentsForPatient(patientId), expand);
     }
 
     /**
@@ -109,29 +146,132 @@ public class AppointmentController {
      * <p>Example: GET /appointments/status/SCHEDULED
      *
      * @param status the status of the appointments to retrieve (e.g., SCHEDULED, CANCELLED)
+     * @param expand summaries to embed in every appointment: {@code doctor} and/or {@code patient}
      * @return a list of {@link Appointment} objects with the specified status
      */
     @GetMapping("/status/{status}")
-    public List<Appointment> getAppointmentsByStatus(@PathVariable Status status) {
-        return service.getAppointmentByStatus(status);
+    public List<?> getAppointmentsByStatus(@PathVariable Status status,
+                                           @RequestParam(required = false) List<String> expand) {
+        return expanded(service.getAppointmentByStatus(status), expand);
+    }
+
+    /**
+     * 4b.
+     * Changes the status of an appointment, e.g. cancels or completes it.
+     *
+     * <p>Example: PATCH /appointments/{id}/status with {@code {"status": "cancelled"}}
+     *
+     * <p>Only scheduled appointments can be completed or cancelled; any other change is refused with
+     * {@code 409 Conflict}. The check and the change are one atomic write, so of concurrent requests cancelling the
+     * same appointment exactly one succeeds.
+     *
+     * @param id     the id of the appointment
+     * @param change the new status
+     * @return the appointment with its new status, or {@code 404 Not Found} if there is no such appointment
+     */
+    @PatchMapping("/{id}/status")
+    public ResponseEntity<Appointment> changeStatus(@PathVariable String id, @Valid @RequestBody StatusChange change) {
+        return ResponseEntity.of(service.changeStatus(id, change.status()));
     }
 
     /**
      * 5.
      * Retrieves all appointments scheduled between two dates (inclusive).
      *
-     * <p>Example: GET /appointments/range?startDate=2025-07-01&endDate=2025-07-31
+     * <p>Example: GET /appointments/range?startDate=2025-07-01&endDate=2025-07-31&expand=doctor,patient
      *
      * @param startDate the start of the date range (format: yyyy-MM-dd)
      * @param endDate the end of the date range (format: yyyy-MM-dd)
+     * @param expand    summaries to embed in every appointment: {@code doctor} and/or {@code patient}
      * @return a list of {@link Appointment} objects within the specified date range
      */
     @GetMapping("/range")
-    public List<Appointment> getAppointmentsBetweenDates(
+    public List<?> getAppointmentsBetweenDates(
+            @RequestParam("startDate") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam("endDate") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(required = false) List<String> expand) {
+        return expanded(service.getAppointmentBetweenDates(startDate, endDate), expand);
+    }
+
+    /**
+     * ---------------------------------------------------------------------------
+     * --------------------------------------------------------------
+     * Rollups: counts by status, read from "appointment_rollups" instead of the appointments
+     * --------------------------------------------------------------
+     * ---------------------------------------------------------------------------
+     */
+
+    /**
+     * 6.
+     * Appointment counts by status for every day of a date range.
+     *
+     * <p>Example: GET /appointments/rollups/daily?startDate=2025-07-01&endDate=2025-07-31&doctorId=...
+     *
+     * @param startDate the first day (format: yyyy-MM-dd)
+     * @param endDate   the last day (format: yyyy-MM-dd)
+     * @param doctorId  optional; only count this doctor
+     * @return one {@link AppointmentCounts} per day with appointments
+     */
+    @GetMapping("/rollups/daily")
+    public List<AppointmentCounts> getDailyCounts(
+            @RequestParam("startDate") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam("endDate") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(required = false) String doctorId) {
+        return rollupService.getDailyCounts(startDate, endDate, doctorId);
+    }
+
+    /**
+     * 7.
+     * Appointment counts by status for every doctor over a date range.
+     *
+     * <p>Example: GET /appointments/rollups/doctors?startDate=2025-07-01&endDate=2025-07-31
+     *
+     * @param startDate the first day (format: yyyy-MM-dd)
+     * @param endDate   the last day (format: yyyy-MM-dd)
+     * @return one {@link AppointmentCounts} per doctor with appointments
+     */
+    @GetMapping("/rollups/doctors")
+    public List<AppointmentCounts> getDoctorCounts(
             @RequestParam("startDate") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
             @RequestParam("endDate") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
-        return service.getAppointmentBetweenDates(startDate, endDate);
+        return rollupService.getDoctorCounts(startDate, endDate);
+    }
+
+    /**
+     * 8.
+     * Total appointment counts by status over a date range.
+     *
+     * <p>Example: GET /appointments/rollups/totals?startDate=2025-07-01&endDate=2025-07-31
+     *
+     * @param startDate the first day (format: yyyy-MM-dd)
+     * @param endDate   the last day (format: yyyy-MM-dd)
+     * @param doctorId  optional; only count this doctor
+     * @return the totals
+     */
+    @GetMapping("/rollups/totals")
+    public AppointmentCounts getTotals(
+            @RequestParam("startDate") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam("endDate") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(required = false) String doctorId) {
+        return rollupService.getTotals(startDate, endDate, doctorId);
     }
 
+    /**
+     * 9.
+     * Recomputes all rollups from the appointments, e.g. after they drifted.
+     *
+     * @return the number of rollups written
+     */
+    @PostMapping("/rollups/rebuild")
+    public Map<String, Long> rebuildRollups() {
+        return Map.of("rollups", rollupService.rebuild());
+    }
 
+    /**
+     * Returns the appointments as they are, or with the doctor and/or patient summaries named in {@code expand}
+     * (e.g. {@code ?expand=doctor,patient}) resolved in one query per collection.
+     */
+    private List<?> expanded(List<Appointment> appointments, List<String> expand) {
+        return expand == null || expand.isEmpty() ? appointments : expander.expand(appointments, expand);
+    }
 }
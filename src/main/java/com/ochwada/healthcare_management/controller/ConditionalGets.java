@@ -0,0 +1,135 @@
+package com.ochwada.healthcare_management.controller;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ochwada.healthcare_management.service.CollectionVersions;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.context.request.WebRequest;
+
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * *******************************************************
+ * Package: com.ochwada.healthcare_management.controller
+ * File: ConditionalGets.java
+ * Author: Ochwada
+ * Date: Saturday, 17.Oct.2026, 9:55 PM
+ * Description: Strong ETags, {@code If-None-Match} handling and {@code Cache-Control} for polled GET endpoints.
+ * - Collection endpoints are tagged with the collection's change counter, checked before MongoDB is queried.
+ * - Single documents are tagged with a hash of their JSON.
+ * - CBOR responses get their own tags, as a strong ETag identifies one representation.
+ * Objective: Answer repeated polls of unchanged data with an empty 304.
+ * *******************************************************
+ */
+@Component
+class ConditionalGets {
+
+    private final CollectionVersions collectionVersions;
+    private final ObjectMapper objectMapper;
+    private final CacheControl cacheControl;
+    private final boolean useCollectionVersions;
+
+    /**
+     * Constructor-based dependency injection.
+     *
+     * @param collectionVersions    the per-collection change counters
+     * @param objectMapper          the mapper whose JSON output is hashed for content ETags
+     * @param maxAge                how long a client may reuse a response without revalidating it (0 = always revalidate)
+     * @param useCollectionVersions whether collection endpoints are tagged with the change counters; turn off when
+     *                              several instances write to the same database, the counters only see local writes
+     */
+    ConditionalGets(CollectionVersions collectionVersions,
+                    ObjectMapper objectMapper,
+                    @Value("${healthcare.http.cache.max-age:0s}") Duration maxAge,
+                    @Value("${healthcare.http.cache.collection-versions:true}") boolean useCollectionVersions) {
+        this.collectionVersions = collectionVersions;
+        this.objectMapper = objectMapper;
+        // Patient and doctor data must never be kept by shared caches, hence private
+        this.cacheControl = maxAge.isZero()
+                ? CacheControl.noCache().cachePrivate()
+                : CacheControl.maxAge(maxAge).cachePrivate().mustRevalidate();
+        this.useCollectionVersions = useCollectionVersions;
+    }
+
+    /**
+     * 1.
+     * Answers a GET on a collection endpoint. The ETag is the collection's current version, so a matching
+     * {@code If-None-Match} is answered with 304 before {@code body} is called.
+     *
+     * @param request    the current request
+     * @param collection the MongoDB collection the response is read from
+     * @param body       loads the response body
+     * @return 304 without a body, or 200 with the body
+     */
+    <T> ResponseEntity<T> collection(WebRequest request, String collection, Supplier<T> body) {
+        if (!useCollectionVersions) {
+            return content(request, body.get());
+        }
+        String etag = "\"" + collection + "-" + collectionVersions.version(collection) + suffix(request) + "\"";
+        if (request.checkNotModified(etag)) {
+            return notModified(etag);
+        }
+        return ok(etag, body.get());
+    }
+
+    /**
+     * 2.
+     * Answers a GET with an ETag hashed from the JSON of {@code body}.
+     *
+     * @param request the current request
+     * @param body    the response body
+     * @return 304 without a body, or 200 with the body
+     */
+    <T> ResponseEntity<T> content(WebRequest request, T body) {
+        String etag = "\"" + hash(body) + suffix(request) + "\"";
+        if (request.checkNotModified(etag)) {
+            return notModified(etag);
+        }
+        return ok(etag, body);
+    }
+
+    private <T> ResponseEntity<T> ok(String etag, T body) {
+        return ResponseEntity.ok().eTag(etag).cacheControl(cacheControl).varyBy(HttpHeaders.ACCEPT).body(body);
+    }
+
+    private <T> ResponseEntity<T> notModified(String etag) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(cacheControl)
+                .varyBy(HttpHeaders.ACCEPT).build();
+    }
+
+    // JSON is written unless the client names CBOR explicitly (see WireFormatConfig)
+    private static String suffix(WebRequest request) {
+        String accept = request.getHeader(HttpHeaders.ACCEPT);
+        if (accept == null) {
+            return "";
+        }
+        try {
+            for (MediaType type : MediaType.parseMediaTypes(accept)) {
+                if (type.equalsTypeAndSubtype(MediaType.APPLICATION_CBOR) && type.getQualityValue() > 0) {
+                    return "-cbor";
+                }
+            }
+        } catch (InvalidMediaTypeException e) {
+            // Left to content negotiation, which rejects the request
+        }
+        return "";
+    }
+
+    private String hash(Object body) {
+        try {
+            return DigestUtils.md5DigestAsHex(objectMapper.writeValueAsBytes(body));
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -1,13 +1,19 @@
 package com.ochwada.healthcare_management.controller;
 
 
+import com.ochwada.healthcare_management.dto.BatchLookup;
+import com.ochwada.healthcare_management.dto.CacheStatistics;
+import com.ochwada.healthcare_management.dto.CursorPage;
+import com.ochwada.healthcare_management.dto.DoctorSummary;
 import com.ochwada.healthcare_management.model.Doctor;
 import com.ochwada.healthcare_management.service.DoctorService;
 import jakarta.validation.Valid;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 
@@ -29,15 +35,19 @@ import java.util.Optional;
 public class DoctorController {
     // Dependency on the Doctor to delegate business logic
     private final DoctorService service;
+    // ETags and Cache-Control for the polled read endpoints
+    private final ConditionalGets conditionalGets;
 
     /**
      * Constructor-based dependency injection for the DoctorService.
      * Spring will automatically inject the required bean at runtime.
      *
-     * @param service the service handling Doctor-related operations
+     * @param service         the service handling Doctor-related operations
+     * @param conditionalGets answers conditional GETs with 304
      */
-    public DoctorController(DoctorService service) {
+    public DoctorController(DoctorService service, ConditionalGets conditionalGets) {
         this.service = service;
+        this.conditionalGets = conditionalGets;
     }
 
     /**
@@ -64,13 +74,23 @@ public class DoctorController {
 
     /**
      * 2.
-     * Retrieves all Doctors from the database.
+     * Retrieves one page of Doctors from the database.
+     * *
+     * Pages are keyed on the doctor id. The first page is requested without a cursor; every response carries a
+     * {@code next} cursor to pass back for the following page, which is {@code null} on the last page.
+     * <p>Example: GET /doctors?limit=100&cursor=NjVh...</p>
+     * The ETag changes whenever a doctor is written; polling with {@code If-None-Match} gets a 304 without a query.
      *
-     * @return A list of all {@link Doctor} objects.
+     * @param cursor  the {@code next} cursor of the previous page, omitted for the first page
+     * @param limit   the page size, defaults to the configured size and is capped at the configured maximum
+     * @param request the current request, checked for {@code If-None-Match}
+     * @return a {@link CursorPage} of {@link Doctor} objects, or 304 Not Modified
      */
     @GetMapping
-    public List<Doctor> allDoctor() {
-        return service.getAllDoctor();
+    public ResponseEntity<CursorPage<Doctor>> allDoctor(@RequestParam(required = false) String cursor,
+                                                        @RequestParam(required = false) Integer limit,
+                                                        WebRequest request) {
+        return conditionalGets.collection(request, "doctors", () -> service.getDoctors(cursor, limit));
     }
 
     /**
@@ -80,12 +100,30 @@ public class DoctorController {
      * This endpoint handles HTTP GET requests at {@code /found-{id}}. The {@code id} is extracted from the URL using
      * {@link PathVariable} and passed to the service layer to look up the corresponding {@link Doctor}.
      *
-     * @param id the unique identifier of the doctor to retrieve
+     * The ETag is a hash of the doctor's JSON; a matching {@code If-None-Match} gets a 304 without a body.
+     *
+     * @param id      the unique identifier of the doctor to retrieve
+     * @param request the current request, checked for {@code If-None-Match}
      * @return an {@link Optional} containing the doctor if found, or empty if not found
      */
     @GetMapping("/findById-{id}")
-    public Optional<Doctor> findDoctorById(@PathVariable String id) {
-        return service.findDoctorById(id);
+    public ResponseEntity<Optional<Doctor>> findDoctorById(@PathVariable String id, WebRequest request) {
+        return conditionalGets.content(request, service.findDoctorById(id));
+    }
+
+    /**
+     * 3b.
+     * Retrieves many doctors by id in one request, instead of one {@code findById-{id}} call per id.
+     * Doctors in the read cache are served from it; only the others are queried.
+     *
+     * <p>Example: POST /doctors/batch with {@code ["id1", "id2"]}
+     *
+     * @param ids the ids of the doctors, at most {@code healthcare.lookup.max-ids}
+     * @return the doctors found, keyed by id, and the ids not found
+     */
+    @PostMapping("/batch")
+    public BatchLookup<Doctor> findDoctorsByIds(@RequestBody List<String> ids) {
+        return service.findDoctorsByIds(ids);
     }
 
     /**
@@ -96,14 +134,33 @@ public class DoctorController {
      * {@link PathVariable} and receives the updated {@link Doctor} data in the request body. The service layer performs
      * the update and returns the modified record.
      *
+     * All fields are replaced. Send the {@code version} last read to have the update refused with
+     * {@code 409 Conflict} if the doctor changed in between.
+     *
      * @param id     the unique identifier of the doctor to update
      * @param doctor the updated {@link Doctor} object from the request body
-     * @return the updated {@link Doctor} object
+     * @return the updated {@link Doctor} object, or {@code 404 Not Found}
      */
     @PutMapping("update-{id}")
-    public Doctor updatePatientById(@PathVariable String id,
-                                    @RequestBody Doctor doctor) {
-        return service.updateDoctor(id, doctor);
+    public ResponseEntity<Doctor> updatePatientById(@PathVariable String id,
+                                                    @Valid @RequestBody Doctor doctor) {
+        return ResponseEntity.of(service.updateDoctor(id, doctor));
+    }
+
+    /**
+     * 4b.
+     * Changes only the fields named in the request body (JSON merge patch) of an existing doctor.
+     * <p>Example: PATCH /doctors/update-{id} {"speciality": "Cardiology", "version": 3}</p>
+     *
+     * @param id      the unique identifier of the doctor to update
+     * @param changes field name to new value; {@code version} is the version last read (optional,
+     *                {@code 409 Conflict} if it no longer matches)
+     * @return the updated {@link Doctor} object, or {@code 404 Not Found}
+     */
+    @PatchMapping("update-{id}")
+    public ResponseEntity<Doctor> patchDoctorById(@PathVariable String id,
+                                                  @RequestBody Map<String, Object> changes) {
+        return ResponseEntity.of(service.patchDoctor(id, changes));
     }
 
     /**
@@ -140,12 +197,15 @@ public class DoctorController {
      * The {@code speciality} is extracted from the URL using {@link PathVariable} and passed to the service
      * layer to look up the corresponding {@link Doctor}.
      *
+     * The ETag changes whenever a doctor is written; polling with {@code If-None-Match} gets a 304 without a query.
+     *
      * @param speciality the speciality of the doctor to be retrieved
+     * @param request    the current request, checked for {@code If-None-Match}
      * @return an {@link Optional containing the doctors if found or empty if not found}
      */
     @GetMapping("/findBySpeciality-{speciality}")
-    public List<Doctor> findDoctorBySpeciality(@PathVariable String speciality) {
-        return service.getDoctorsBySpeciality(speciality);
+    public ResponseEntity<List<Doctor>> findDoctorBySpeciality(@PathVariable String speciality, WebRequest request) {
+        return conditionalGets.collection(request, "doctors", () -> service.getDoctorsBySpeciality(speciality));
     }
 
     /**
@@ -162,5 +222,38 @@ public class DoctorController {
         return service.getDoctorWithExperienceMoreThan(yearsOfExperience);
     }
 
+    /**
+     * 7b.
+     * Retrieves one page of doctor summaries (id, name, speciality, years of experience) for list views.
+     * *
+     * Accepts the same filters as {@code /findBySpeciality-{speciality}} and {@code /experience-{yearsOfExperience}},
+     * both optional, and pages like {@code GET /doctors}. Only the summary fields are read from the database.
+     * <p>Example: GET /doctors/summary?speciality=Cardiology&experienceAbove=5</p>
+     *
+     * @param speciality      only doctors of this speciality (optional)
+     * @param experienceAbove only doctors with more years of experience than this (optional)
+     * @param cursor          the {@code next} cursor of the previous page, omitted for the first page
+     * @param limit           the page size (optional)
+     * @return a {@link CursorPage} of {@link DoctorSummary} objects
+     */
+    @GetMapping("/summary")
+    public CursorPage<DoctorSummary> getDoctorSummaries(@RequestParam(required = false) String speciality,
+                                                        @RequestParam(required = false) Integer experienceAbove,
+                                                        @RequestParam(required = false) String cursor,
+                                                        @RequestParam(required = false) Integer limit) {
+        return service.getDoctorSummaries(speciality, experienceAbove, cursor, limit);
+    }
+
+    /**
+     * 8.
+     * Reports hit, miss and eviction statistics of the Doctor read caches.
+     *
+     * @return a list of {@link CacheStatistics}, one per cache
+     */
+    @GetMapping("/cache-stats")
+    public List<CacheStatistics> getCacheStatistics() {
+        return service.getCacheStatistics();
+    }
+
 
 }
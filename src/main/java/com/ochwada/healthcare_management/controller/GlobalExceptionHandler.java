@@ -1,7 +1,17 @@
 package com.ochwada.healthcare_management.controller;
 
 
+import com.ochwada.healthcare_management.exception.AppointmentConflictException;
+import com.ochwada.healthcare_management.exception.StatusTransitionException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
 
 /**
  * *******************************************************
@@ -16,4 +26,87 @@ import org.springframework.web.bind.annotation.ControllerAdvice;
 
 @ControllerAdvice
 public class GlobalExceptionHandler {
+
+    /**
+     * Maps invalid client input detected below the web layer (e.g. a malformed paging cursor or limit)
+     * to {@code 400 Bad Request}.
+     *
+     * @param e the exception raised by the service layer
+     * @return a {@code 400} response carrying the error message
+     */
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<Map<String, String>> handleIllegalArgument(IllegalArgumentException e) {
+        return error(HttpStatus.BAD_REQUEST, e.getMessage());
+    }
+
+    /**
+     * Maps work refused because a concurrency bound is saturated to {@code 503 Service Unavailable},
+     * so clients back off and retry.
+     *
+     * @param e the rejection
+     * @return a {@code 503} response carrying the error message
+     */
+    @ExceptionHandler(RejectedExecutionException.class)
+    public ResponseEntity<Map<String, String>> handleRejected(RejectedExecutionException e) {
+        return error(HttpStatus.SERVICE_UNAVAILABLE, e.getMessage());
+    }
+
+    /**
+     * Maps a booking refused because the doctor's day is taken to {@code 409 Conflict}.
+     *
+     * @param e the conflict
+     * @return a {@code 409} response carrying the error message
+     */
+    @ExceptionHandler(AppointmentConflictException.class)
+    public ResponseEntity<Map<String, String>> handleConflict(AppointmentConflictException e) {
+        return error(HttpStatus.CONFLICT, e.getMessage());
+    }
+
+    /**
+     * Maps a status change the appointment's current status does not allow (e.g. completing a cancelled
+     * appointment) to {@code 409 Conflict}.
+     *
+     * @param e the refused transition
+     * @return a {@code 409} response carrying the error message
+     */
+    @ExceptionHandler(StatusTransitionException.class)
+    public ResponseEntity<Map<String, String>> handleStatusTransition(StatusTransitionException e) {
+        return error(HttpStatus.CONFLICT, e.getMessage());
+    }
+
+    /**
+     * Maps an update refused because the document changed since the version the client sent to
+     * {@code 409 Conflict}; the client reloads and retries.
+     *
+     * @param e the version mismatch
+     * @return a {@code 409} response carrying the error message
+     */
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<Map<String, String>> handleVersionConflict(OptimisticLockingFailureException e) {
+        return error(HttpStatus.CONFLICT, e.getMessage());
+    }
+
+    /**
+     * Maps work that did not complete within its time budget (e.g. a patient overview) to
+     * {@code 504 Gateway Timeout}.
+     *
+     * @param e the timeout
+     * @return a {@code 504} response carrying the error message
+     */
+    @ExceptionHandler(QueryTimeoutException.class)
+    public ResponseEntity<Map<String, String>> handleTimeout(QueryTimeoutException e) {
+        return error(HttpStatus.GATEWAY_TIMEOUT, e.getMessage());
+    }
+
+    /**
+     * Builds the JSON error body shared by all handlers.
+     *
+     * @param status  the HTTP status to return
+     * @param message the human-readable error message
+     * @return the error response
+     */
+    private static ResponseEntity<Map<String, String>> error(HttpStatus status, String message) {
+        return ResponseEntity.status(status)
+                .body(Map.of("error", message == null ? status.getReasonPhrase() : message));
+    }
 }
@@ -1,12 +1,24 @@
 package com.ochwada.healthcare_management.controller;
 
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.ochwada.healthcare_management.dto.CursorPage;
 import com.ochwada.healthcare_management.model.MedicalRecord;
 import com.ochwada.healthcare_management.service.MedicalRecordService;
 import jakarta.validation.Valid;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.LocalDate;
+import java.util.Iterator;
 import java.util.List;
+import java.util.stream.Stream;
 
 
 /**
@@ -26,14 +38,23 @@ public class MedicalRecordController {
     // Dependency on the Medical records to delegate business logic
     private final MedicalRecordService service;
 
+    // Writer used for the NDJSON export; flushing is done in batches rather than after every record
+    private final ObjectWriter recordWriter;
+
+    // Number of records written between two explicit flushes of the response
+    private static final int FLUSH_EVERY = 256;
+
     /**
      * Constructor-based dependency injection for the medical record.
      * Spring will automatically inject the required bean at runtime.
      *
-     * @param service the service handling medical record -related operations
+     * @param service      the service handling medical record -related operations
+     * @param objectMapper the application's Jackson mapper, reused so the export matches the JSON API
      */
-    public MedicalRecordController(MedicalRecordService service) {
+    public MedicalRecordController(MedicalRecordService service, ObjectMapper objectMapper) {
         this.service = service;
+        this.recordWriter = objectMapper.writerFor(MedicalRecord.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
     }
 
     /**
@@ -71,5 +92,116 @@ public class MedicalRecordController {
         return service.getAllMedicalRecords();
     }
 
+    /**
+     * 3.
+     * Exports medical records as newline-delimited JSON ({@code application/x-ndjson}).
+     *
+     * <p>Records are written to the response one by one as they arrive from the MongoDB cursor, so memory stays
+     * flat regardless of collection size. Writes block while the client is slow to read, and the cursor only
+     * fetches its next batch once the current one has been written, which applies the client's pace to the
+     * database. Filters are evaluated by MongoDB.</p>
+     * <p>Example: GET /medical-records/export?patientID=123&from=2025-01-01&to=2025-06-30</p>
+     *
+     * @param patientID only export records of this patient (optional)
+     * @param from      only export records created on or after this date (optional, format: yyyy-MM-dd)
+     * @param to        only export records created on or before this date (optional, format: yyyy-MM-dd)
+     * @return a streaming response body producing one JSON document per line
+     */
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportMedicalRecords(
+            @RequestParam(required = false) String patientID,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        // Check the filters eagerly so they are reported as a normal error response. The cursor is only opened
+        // by the body, which closes it however it ends; a body that never runs (async timeout, rejected, client
+        // gone) opens none.
+        service.validateDateRange(from, to);
 
+        StreamingResponseBody body = out -> {
+            try (Stream<MedicalRecord> records = service.streamMedicalRecords(patientID, from, to);
+                 JsonGenerator generator = recordWriter.getFactory().createGenerator(out)) {
+                generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                Iterator<MedicalRecord> iterator = records.iterator();
+                int written = 0;
+                while (iterator.hasNext()) {
+                    recordWriter.writeValue(generator, iterator.next());
+                    generator.writeRaw('\n');
+                    if (++written % FLUSH_EVERY == 0) {
+                        generator.flush();
+                    }
+                }
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    /**
+     * 4.
+     * Retrieves the most recent medical records of a patient.
+     *
+     * <p>Example: GET /medical-records/patients/123/latest?n=5</p>
+     *
+     * @param patientID the patient
+     * @param n         how many records to return (optional; defaults to the page size)
+     * @return the records, newest first
+     */
+    @GetMapping("/patients/{patientID}/latest")
+    public List<MedicalRecord> getLatestMedicalRecords(@PathVariable String patientID,
+                                                       @RequestParam(required = false) Integer n) {
+        return service.getLatestMedicalRecords(patientID, n);
+    }
+
+    /**
+     * 5.
+     * Retrieves a patient's medical history, newest first, one page at a time.
+     *
+     * <p>Pass the {@code next} value of a response as {@code cursor} to get the following page; {@code next} is
+     * absent on the last page.</p>
+     * <p>Example: GET /medical-records/patients/123?from=2025-01-01&to=2025-06-30&limit=20</p>
+     *
+     * @param patientID the patient
+     * @param from      only records created on or after this date (optional, format: yyyy-MM-dd)
+     * @param to        only records created on or before this date (optional, format: yyyy-MM-dd)
+     * @param cursor    the cursor of the page to fetch (optional)
+     * @param limit     the page size (optional)
+     * @return a {@link CursorPage} of {@link MedicalRecord} objects
+     */
+    @GetMapping("/patients/{patientID}")
+    public CursorPage<MedicalRecord> getPatientHistory(
+            @PathVariable String patientID,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        return service.getPatientHistory(patientID, from, to, cursor, limit);
+    }
+
+    /**
+     * 6.
+     * Full-text search over the diagnosis and treatment of medical records, best match first.
+     *
+     * <p>Records matching any of the words are returned with their relevance {@code score}. Pass the {@code next}
+     * value of a response as {@code cursor} to get the following page.</p>
+     * <p>Example: GET /medical-records/search?q=migraine%20ibuprofen&patientID=123&from=2025-01-01</p>
+     *
+     * @param q         the search text
+     * @param patientID only search records of this patient (optional)
+     * @param from      only search records created on or after this date (optional, format: yyyy-MM-dd)
+     * @param to        only search records created on or before this date (optional, format: yyyy-MM-dd)
+     * @param cursor    the cursor of the page to fetch (optional)
+     * @param limit     the page size (optional)
+     * @return a {@link CursorPage} of {@link MedicalRecord} objects by descending score
+     */
+    @GetMapping("/search")
+    public CursorPage<MedicalRecord> searchMedicalRecords(
+            @RequestParam String q,
+            @RequestParam(required = false) String patientID,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        return service.searchMedicalRecords(q, patientID, from, to, cursor, limit);
+    }
 }
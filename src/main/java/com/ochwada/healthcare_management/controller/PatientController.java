@@ -1,15 +1,22 @@
 package com.ochwada.healthcare_management.controller;
 
 
+import com.ochwada.healthcare_management.dto.BatchLookup;
+import com.ochwada.healthcare_management.dto.CursorPage;
+import com.ochwada.healthcare_management.dto.PatientOverview;
+import com.ochwada.healthcare_management.dto.PatientSummary;
 import com.ochwada.healthcare_management.model.Gender;
 import com.ochwada.healthcare_management.model.Patient;
+import com.ochwada.healthcare_management.service.PatientOverviewService;
 import com.ochwada.healthcare_management.service.PatientService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -29,16 +36,24 @@ import java.util.Optional;
 public class PatientController {
     // Dependency on the Patient to delegate business logic
     private final PatientService service;
+    private final PatientOverviewService overviewService;
+    // ETags and Cache-Control for the polled read endpoints
+    private final ConditionalGets conditionalGets;
 
     /**
      * Constructor-based dependency injection for the PatientService.
      * Spring will automatically inject the required bean at runtime.
      *
-     * @param service the service handling Patient-related operations
+     * @param service         the service handling Patient-related operations
+     * @param overviewService the service assembling patient overviews
+     * @param conditionalGets answers conditional GETs with 304
      */
     @Autowired
-    public PatientController(PatientService service) {
+    public PatientController(PatientService service, PatientOverviewService overviewService,
+                             ConditionalGets conditionalGets) {
         this.service = service;
+        this.overviewService = overviewService;
+        this.conditionalGets = conditionalGets;
     }
 
     /**
@@ -67,13 +82,20 @@ public class PatientController {
 
     /**
      * 2.
-     * Retrieves all Patients from the database.
+     * Retrieves one page of Patients from the database.
+     * *
+     * Pages are keyed on the patient id. The first page is requested without a cursor; every response carries a
+     * {@code next} cursor to pass back for the following page, which is {@code null} on the last page.
+     * <p>Example: GET /patients?limit=100&cursor=NjVh...</p>
      *
-     * @return A list of all {@link Patient} objects.
+     * @param cursor the {@code next} cursor of the previous page, omitted for the first page
+     * @param limit  the page size, defaults to the configured size and is capped at the configured maximum
+     * @return a {@link CursorPage} of {@link Patient} objects
      */
     @GetMapping
-    public List<Patient> allPatients() {
-        return service.findAllPatients();
+    public CursorPage<Patient> allPatients(@RequestParam(required = false) String cursor,
+                                           @RequestParam(required = false) Integer limit) {
+        return service.findPatients(cursor, limit);
     }
 
     /**
@@ -83,25 +105,59 @@ public class PatientController {
      * This endpoint handles HTTP GET requests at the path {@code /find-{id}}. The value in the URL (e.g., {@code /find-123})
      * is captured using {@link PathVariable}and passed as the {@code id} argument to look up a patient.
      *
-     * @param id the unique ID of the patient to retrieve, extracted from the URL path
+     * The ETag is a hash of the patient's JSON; a matching {@code If-None-Match} gets a 304 without a body.
+     *
+     * @param id      the unique ID of the patient to retrieve, extracted from the URL path
+     * @param request the current request, checked for {@code If-None-Match}
      * @return an {@link Optional} containing the patient if found, or empty if not
      */
     @GetMapping("/findById-{id}")
-    public Optional<Patient> findPatientById(@PathVariable String id) {
-        return service.findPatientById(id);
+    public ResponseEntity<Optional<Patient>> findPatientById(@PathVariable String id, WebRequest request) {
+        return conditionalGets.content(request, service.findPatientById(id));
+    }
+
+    /**
+     * 3b.
+     * Retrieves many patients by id in one request, instead of one {@code findById-{id}} call per id.
+     *
+     * <p>Example: POST /patients/batch with {@code ["id1", "id2"]}
+     *
+     * @param ids the ids of the patients, at most {@code healthcare.lookup.max-ids}
+     * @return the patients found, keyed by id, and the ids not found
+     */
+    @PostMapping("/batch")
+    public BatchLookup<Patient> findPatientsByIds(@RequestBody List<String> ids) {
+        return service.findPatientsByIds(ids);
     }
 
     /** 4.
-     * Updates an existing Patient by its unique identifier.
+     * Updates an existing Patient by its unique identifier, replacing all of its fields.
+     * Send the {@code version} last read to have the update refused with {@code 409 Conflict} if the patient
+     * changed in between.
      *
      * @param id      The unique identifier of the Patient to update.
      * @param patient The updated Patient data received in the request body.
-     * @return The updated {@link Patient} object after saving to the database.
+     * @return The updated {@link Patient} object, or {@code 404 Not Found}.
      */
     @PutMapping("update-{id}")
-    public Patient updatePatientById(@PathVariable String id,
-                                     @RequestBody Patient patient) {
-        return service.updatePatient(id, patient);
+    public ResponseEntity<Patient> updatePatientById(@PathVariable String id,
+                                                     @Valid @RequestBody Patient patient) {
+        return ResponseEntity.of(service.updatePatient(id, patient));
+    }
+
+    /** 4b.
+     * Changes only the fields named in the request body (JSON merge patch) of an existing Patient.
+     * <p>Example: PATCH /patients/update-{id} {"email": "new@example.com", "version": 3}</p>
+     *
+     * @param id      The unique identifier of the Patient to update.
+     * @param changes Field name to new value; {@code null} removes an optional field, {@code version} is the
+     *                version last read (optional, {@code 409 Conflict} if it no longer matches).
+     * @return The updated {@link Patient} object, or {@code 404 Not Found}.
+     */
+    @PatchMapping("update-{id}")
+    public ResponseEntity<Patient> patchPatientById(@PathVariable String id,
+                                                    @RequestBody Map<String, Object> changes) {
+        return ResponseEntity.of(service.patchPatient(id, changes));
     }
 
     /** 5.
@@ -154,5 +210,45 @@ public class PatientController {
         return service.getPatientsByGender(gender);
     }
 
+    /** 8.
+     * Retrieves one page of patient summaries (id, name, age, gender) for list views.
+     * *
+     * Accepts the same filters as {@code /greaterThan-{age}} and {@code /gender-{gender}}, both optional, and pages
+     * like {@code GET /patients}. Only the summary fields are read from the database.
+     * <p>Example: GET /patients/summary?olderThan=40&gender=FEMALE&limit=100</p>
+     *
+     * @param olderThan only patients older than this age (optional)
+     * @param gender    only patients of this gender (optional)
+     * @param cursor    the {@code next} cursor of the previous page, omitted for the first page
+     * @param limit     the page size (optional)
+     * @return a {@link CursorPage} of {@link PatientSummary} objects
+     */
+    @GetMapping("/summary")
+    public CursorPage<PatientSummary> getPatientSummaries(@RequestParam(required = false) Integer olderThan,
+                                                          @RequestParam(required = false) Gender gender,
+                                                          @RequestParam(required = false) String cursor,
+                                                          @RequestParam(required = false) Integer limit) {
+        return service.getPatientSummaries(olderThan, gender, cursor, limit);
+    }
+
+    /** 9.
+     * Retrieves a patient's chart in one call: the patient, their latest appointments and latest medical records.
+     * *
+     * The three parts are fetched concurrently (or in one {@code $lookup} aggregation, see
+     * {@code healthcare.overview.mode}), so the response takes as long as the slowest part.
+     * <p>Example: GET /patients/65a.../overview?appointments=5&records=20</p>
+     *
+     * @param id           the patient id
+     * @param appointments how many of the latest appointments to include (optional)
+     * @param records      how many of the latest medical records to include (optional)
+     * @return the {@link PatientOverview}; {@code 404} if there is no such patient, {@code 504} if it took too long
+     */
+    @GetMapping("/{id}/overview")
+    public ResponseEntity<PatientOverview> getPatientOverview(@PathVariable String id,
+                                                              @RequestParam(required = false) Integer appointments,
+                                                              @RequestParam(required = false) Integer records) {
+        return ResponseEntity.of(overviewService.getOverview(id, appointments, records));
+    }
+
 
 }
@@ -0,0 +1,85 @@
+package com.ochwada.healthcare_management.controller;
+
+
+import com.ochwada.healthcare_management.model.Appointment;
+import com.ochwada.healthcare_management.service.ReactiveAppointmentService;
+import org.springframework.context.annotation.Profile;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+
+import java.time.LocalDate;
+
+
+/**
+ * *******************************************************
+ * Package: com.ochwada.healthcare_management.controller
+ * File: ReactiveAppointmentController.java
+ * Author: Ochwada
+ * Date: Saturday, 17.Oct.2026, 1:48 PM
+ * Description: Streaming variants of the Appointment read endpoints, active with the "reactive" profile.
+ * - Same paths as {@link AppointmentController}, selected with {@code Accept: application/x-ndjson}.
+ * - Other requests (including {@code Accept: *}{@code /*}) keep going to the blocking handlers.
+ * Objective:
+ * *******************************************************
+ */
+
+@RestController
+@Profile("reactive")
+@RequestMapping("/appointments")
+public class ReactiveAppointmentController {
+    // Dependency on the reactive Appointment service to delegate the non-blocking reads
+    private final ReactiveAppointmentService service;
+
+    /**
+     * Constructor-based dependency injection for the ReactiveAppointmentService
+     *
+     * @param service the service handling the reactive Appointment reads
+     */
+    public ReactiveAppointmentController(ReactiveAppointmentService service) {
+        this.service = service;
+    }
+
+    /**
+     * 1.
+     * Streams all appointments of a specific doctor as NDJSON.
+     *
+     * @param doctorId the ID of the doctor whose appointments are being retrieved
+     * @return a {@link Flux} of {@link Appointment} objects
+     */
+    @GetMapping(value = "/doctors/{doctorId}", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<Appointment> streamAppointmentsForDoctor(@PathVariable String doctorId) {
+        return service.getAllAppointmentsForDoctor(doctorId);
+    }
+
+    /**
+     * 2.
+     * Streams all appointments of a specific patient as NDJSON.
+     *
+     * @param patientId the ID of the patient whose appointments are being retrieved
+     * @return a {@link Flux} of {@link Appointment} objects
+     */
+    @GetMapping(value = "/patients/{patientId}", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<Appointment> streamAppointmentsForPatient(@PathVariable String patientId) {
+        return service.getAllAppointmentsForPatient(patientId);
+    }
+
+    /**
+     * 3.
+     * Streams all appointments scheduled between two dates as NDJSON.
+     *
+     * <p>Example: GET /appointments/range?startDate=2025-07-01&endDate=2025-07-31 with
+     * {@code Accept: application/x-ndjson}
+     *
+     * @param startDate the start of the date range (format: yyyy-MM-dd)
+     * @param endDate   the end of the date range (format: yyyy-MM-dd)
+     * @return a {@link Flux} of {@link Appointment} objects
+     */
+    @GetMapping(value = "/range", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<Appointment> streamAppointmentsBetweenDates(
+            @RequestParam("startDate") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam("endDate") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+        return service.getAppointmentBetweenDates(startDate, endDate);
+    }
+}
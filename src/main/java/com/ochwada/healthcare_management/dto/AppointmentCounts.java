@@ -0,0 +1,37 @@
+package com.ochwada.healthcare_management.dto;
+
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.time.LocalDate;
+
+/**
+ * *******************************************************
+ * Package: com.ochwada.healthcare_management.dto
+ * File: AppointmentCounts.java
+ * Author: Ochwada
+ * Date: Saturday, 17.Oct.2026, 6:50 PM
+ * Description: Appointment counts by status, summed from the appointment rollups.
+ * Objective:
+ * *******************************************************
+ */
+
+/**
+ * @param date      the day counted, only when grouped by day
+ * @param doctorId  the doctor counted, only when grouped by doctor
+ * @param scheduled scheduled appointments
+ * @param completed completed appointments
+ * @param cancelled cancelled appointments
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record AppointmentCounts(LocalDate date, String doctorId, long scheduled, long completed, long cancelled) {
+
+    /**
+     * @return appointments in any status
+     */
+    @JsonProperty
+    public long total() {
+        return scheduled + completed + cancelled;
+    }
+}
@@ -0,0 +1,41 @@
+package com.ochwada.healthcare_management.dto;
+
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * *******************************************************
+ * Package: com.ochwada.healthcare_management.dto
+ * File: BatchLookup.java
+ * Author: Ochwada
+ * Date: Sunday, 18.Oct.2026, 3:10 AM
+ * Description: Response of a lookup by a list of ids: the documents found, keyed by id, and the ids not found,
+ * both in request order.
+ * Objective:
+ * *******************************************************
+ */
+
+/**
+ * @param found   the documents found, keyed by id
+ * @param missing the requested ids without a document
+ */
+public record BatchLookup<T>(Map<String, T> found, List<String> missing) {
+
+    /**
+     * @param ids     the requested ids, without duplicates
+     * @param results the documents found, by id, in any order
+     * @return the lookup of {@code ids}, ordered as requested
+     */
+    public static <T> BatchLookup<T> of(List<String> ids, Map<String, T> results) {
+        Map<String, T> found = new LinkedHashMap<>();
+        for (String id : ids) {
+            T result = results.get(id);
+            if (result != null) {
+                found.put(id, result);
+            }
+        }
+        return new BatchLookup<>(found, ids.stream().filter(id -> !found.containsKey(id)).toList());
+    }
+}
@@ -0,0 +1,28 @@
+package com.ochwada.healthcare_management.dto;
+
+
+import java.util.List;
+
+/**
+ * *******************************************************
+ * Package: com.ochwada.healthcare_management.dto
+ * File: BulkInsertResponse.java
+ * Author: Ochwada
+ * Date: Saturday, 17.Oct.2026, 12:10 PM
+ * Description: Response of a bulk insert: totals plus one {@link BulkItemResult} per submitted item, in request order.
+ * Objective:
+ * *******************************************************
+ */
+
+/**
+ * @param inserted number of items written to MongoDB
+ * @param failed   number of items rejected by validation or refused by MongoDB
+ * @param items    per-item results, in request order
+ */
+public record BulkInsertResponse(int inserted, int failed, List<BulkItemResult> items) {
+
+    public static BulkInsertResponse of(List<BulkItemResult> items) {
+        int inserted = (int) items.stream().filter(item -> "inserted".equals(item.status())).count();
+        return new BulkInsertResponse(inserted, items.size() - inserted, items);
+    }
+}
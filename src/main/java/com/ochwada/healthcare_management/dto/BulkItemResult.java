@@ -0,0 +1,40 @@
+package com.ochwada.healthcare_management.dto;
+
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+
+/**
+ * *******************************************************
+ * Package: com.ochwada.healthcare_management.dto
+ * File: BulkItemResult.java
+ * Author: Ochwada
+ * Date: Saturday, 17.Oct.2026, 12:08 PM
+ * Description: Outcome of one item of a bulk request.
+ * Objective:
+ * *******************************************************
+ */
+
+/**
+ * @param index  position of the item in the request
+ * @param status {@code inserted}, {@code rejected} (failed validation, never sent to MongoDB) or {@code failed}
+ *               (refused by MongoDB, e.g. a duplicate key)
+ * @param id     the id of the inserted document, only for {@code inserted}
+ * @param errors why the item was not inserted, only for {@code rejected} and {@code failed}
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record BulkItemResult(int index, String status, String id, List<String> errors) {
+
+    public static BulkItemResult inserted(int index, String id) {
+        return new BulkItemResult(index, "inserted", id, null);
+    }
+
+    public static BulkItemResult rejected(int index, List<String> errors) {
+        return new BulkItemResult(index, "rejected", null, errors);
+    }
+
+    public static BulkItemResult failed(int index, String error) {
+        return new BulkItemResult(index, "failed", null, List.of(error));
+    }
+}
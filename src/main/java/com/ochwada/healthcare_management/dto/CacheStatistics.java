@@ -0,0 +1,25 @@
+package com.ochwada.healthcare_management.dto;
+
+
+/**
+ * *******************************************************
+ * Package: com.ochwada.healthcare_management.dto
+ * File: CacheStatistics.java
+ * Author: Ochwada
+ * Date: Saturday, 17.Oct.2026, 11:24 AM
+ * Description: Point-in-time statistics of one in-process cache.
+ * Objective:
+ * *******************************************************
+ */
+
+/**
+ * @param name          the cache name
+ * @param size          approximate number of entries currently held
+ * @param hitCount      lookups answered from the cache
+ * @param missCount     lookups that went to the database
+ * @param hitRate       hits divided by lookups, 1.0 when there were no lookups
+ * @param evictionCount entries dropped by the size or TTL policy (explicit invalidations are not counted)
+ */
+public record CacheStatistics(String name, long size, long hitCount, long missCount, double hitRate,
+                              long evictionCount) {
+}
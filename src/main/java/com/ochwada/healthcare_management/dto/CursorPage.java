@@ -0,0 +1,36 @@
+package com.ochwada.healthcare_management.dto;
+
+
+import java.util.List;
+
+/**
+ * *******************************************************
+ * Package: com.ochwada.healthcare_management.dto
+ * File: CursorPage.java
+ * Author: Ochwada
+ * Date: Saturday, 17.Oct.2026, 9:10 AM
+ * Description: One slice of a keyset (cursor) paginated listing.
+ * Objective: Bound every list response and hand the client an opaque token for the next slice.
+ * *******************************************************
+ */
+
+/**
+ * @param content the documents of this slice, in key order
+ * @param next    opaque cursor for the following slice, or {@code null} when this is the last one
+ * @param size    number of documents in {@code content}
+ * @param <T>     type of the listed documents
+ */
+public record CursorPage<T>(List<T> content, String next, int size) {
+
+    /**
+     * Builds a page from its content and the (possibly {@code null}) next cursor.
+     *
+     * @param content the documents of this slice
+     * @param next    cursor for the following slice, or {@code null}
+     * @param <T>     type of the listed documents
+     * @return the page
+     */
+    public static <T> CursorPage<T> of(List<T> content, String next) {
+        return new CursorPage<>(content, next, content.size());
+    }
+}
@@ -0,0 +1,22 @@
+package com.ochwada.healthcare_management.dto;
+
+
+/**
+ * *******************************************************
+ * Package: com.ochwada.healthcare_management.dto
+ * File: DoctorSummary.java
+ * Author: Ochwada
+ * Date: Saturday, 17.Oct.2026, 12:42 PM
+ * Description: Read-only projection of a Doctor for list views.
+ * Objective: Only these fields are fetched from MongoDB, decoded and serialized; the email is left out.
+ * *******************************************************
+ */
+
+/**
+ * @param id                the doctor id
+ * @param name              full name of the doctor
+ * @param speciality        speciality of the doctor
+ * @param yearsOfExperience years of experience of the doctor
+ */
+public record DoctorSummary(String id, String name, String speciality, int yearsOfExperience) {
+}
@@ -0,0 +1,29 @@
+package com.ochwada.healthcare_management.dto;
+
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonUnwrapped;
+import com.ochwada.healthcare_management.model.Appointment;
+
+/**
+ * *******************************************************
+ * Package: com.ochwada.healthcare_management.dto
+ * File: ExpandedAppointment.java
+ * Author: Ochwada
+ * Date: Sunday, 18.Oct.2026, 3:40 AM
+ * Description: An appointment of a list requested with {@code expand}: its own fields, unchanged, plus a
+ * {@code doctor} and/or {@code patient} summary.
+ * Objective:
+ * *******************************************************
+ */
+
+/**
+ * @param appointment the appointment, serialized as its own fields
+ * @param doctor      the appointment's doctor, or {@code null} if not expanded or not found
+ * @param patient     the appointment's patient, or {@code null} if not expanded or not found
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ExpandedAppointment(@JsonUnwrapped Appointment appointment,
+                                  DoctorSummary doctor,
+                                  PatientSummary patient) {
+}
@@ -0,0 +1,27 @@
+package com.ochwada.healthcare_management.dto;
+
+
+import com.ochwada.healthcare_management.model.Appointment;
+import com.ochwada.healthcare_management.model.MedicalRecord;
+import com.ochwada.healthcare_management.model.Patient;
+
+import java.util.List;
+
+/**
+ * *******************************************************
+ * Package: com.ochwada.healthcare_management.dto
+ * File: PatientOverview.java
+ * Author: Ochwada
+ * Date: Saturday, 17.Oct.2026, 9:05 PM
+ * Description: Everything a patient chart opens with, in one response.
+ * Objective:
+ * *******************************************************
+ */
+
+/**
+ * @param patient        the patient
+ * @param appointments   the patient's latest appointments, most recent date first
+ * @param medicalRecords the patient's latest medical records, newest first
+ */
+public record PatientOverview(Patient patient, List<Appointment> appointments, List<MedicalRecord> medicalRecords) {
+}
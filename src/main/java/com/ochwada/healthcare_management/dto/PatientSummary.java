@@ -0,0 +1,24 @@
+package com.ochwada.healthcare_management.dto;
+
+
+import com.ochwada.healthcare_management.model.Gender;
+
+/**
+ * *******************************************************
+ * Package: com.ochwada.healthcare_management.dto
+ * File: PatientSummary.java
+ * Author: Ochwada
+ * Date: Saturday, 17.Oct.2026, 12:40 PM
+ * Description: Read-only projection of a Patient for list views.
+ * Objective: Only these fields are fetched from MongoDB, decoded and serialized; contact details are left out.
+ * *******************************************************
+ */
+
+/**
+ * @param id     the patient id
+ * @param name   full name of the patient
+ * @param age    age of the patient
+ * @param gender gender of the patient
+ */
+public record PatientSummary(String id, String name, int age, Gender gender) {
+}
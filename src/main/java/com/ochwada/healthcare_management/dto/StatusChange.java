@@ -0,0 +1,22 @@
+package com.ochwada.healthcare_management.dto;
+
+
+import com.ochwada.healthcare_management.model.Status;
+import jakarta.validation.constraints.NotNull;
+
+/**
+ * *******************************************************
+ * Package: com.ochwada.healthcare_management.dto
+ * File: StatusChange.java
+ * Author: Ochwada
+ * Date: Sunday, 18.Oct.2026, 12:55 AM
+ * Description: Body of {@code PATCH /appointments/{id}/status}, e.g. {@code {"status": "cancelled"}}.
+ * Objective:
+ * *******************************************************
+ */
+
+/**
+ * @param status the status the appointment is moved to
+ */
+public record StatusChange(@NotNull(message = "Status is required") Status status) {
+}
@@ -0,0 +1,19 @@
+package com.ochwada.healthcare_management.exception;
+
+
+/**
+ * *******************************************************
+ * Package: com.ochwada.healthcare_management.exception
+ * File: AppointmentConflictException.java
+ * Author: Ochwada
+ * Date: Saturday, 17.Oct.2026, 6:05 PM
+ * Description: Thrown when an appointment cannot be booked because the doctor's day is fully booked.
+ * Objective: Mapped to {@code 409 Conflict} by GlobalExceptionHandler.
+ * *******************************************************
+ */
+public class AppointmentConflictException extends RuntimeException {
+
+    public AppointmentConflictException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,20 @@
+package com.ochwada.healthcare_management.exception;
+
+
+/**
+ * *******************************************************
+ * Package: com.ochwada.healthcare_management.exception
+ * File: StatusTransitionException.java
+ * Author: Ochwada
+ * Date: Sunday, 18.Oct.2026, 12:50 AM
+ * Description: Thrown when an appointment cannot be moved to the requested status from the one it is in, e.g. a
+ * cancelled appointment being completed, or a second concurrent cancellation.
+ * Objective: Mapped to {@code 409 Conflict} by GlobalExceptionHandler.
+ * *******************************************************
+ */
+public class StatusTransitionException extends RuntimeException {
+
+    public StatusTransitionException(String message) {
+        super(message);
+    }
+}
@@ -1,9 +1,13 @@
 package com.ochwada.healthcare_management.model;
 
 
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.validation.constraints.*;
 import lombok.*;
 import org.springframework.data.annotation.*;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 import org.springframework.format.annotation.DateTimeFormat;
 
@@ -17,6 +21,10 @@ import java.time.LocalDate;
  * Date: Friday, 11.Jul.2025, 10:58 AM
  * Description: Represents  appointment stored in the MongoDB collect "healthcareDB"
  * Objective:
+ * - Indexes back every finder of AppointmentRepository: by doctor, patient or status (each narrowed by date),
+ *   and by date range alone. They are created at start-up by MongoIndexInitializer.
+ * - The unique, partial {@value #SLOT_INDEX} index lets a doctor's slot of a day be taken only once; it is the final
+ *   guard behind the in-memory DoctorScheduleIndex that assigns the slots.
  * *******************************************************
  */
 
@@ -24,7 +32,18 @@ import java.time.LocalDate;
 @NoArgsConstructor
 @AllArgsConstructor
 @Document(collection = "appointments")
+@CompoundIndexes({
+        @CompoundIndex(name = "doctorId_date", def = "{'doctorId': 1, 'date': 1}"),
+        @CompoundIndex(name = "patientId_date", def = "{'patientId': 1, 'date': 1}"),
+        @CompoundIndex(name = "status_date", def = "{'status': 1, 'date': 1}"),
+        @CompoundIndex(name = Appointment.SLOT_INDEX, def = "{'doctorId': 1, 'date': 1, 'slot': 1}",
+                unique = true, partialFilter = "{'slot': {$exists: true}}")
+})
 public class Appointment {
+
+    /** Name of the unique index on (doctorId, date, slot); appointments without a slot are not indexed. */
+    public static final String SLOT_INDEX = "doctorId_date_slot";
+
     /** Unique identifier for the appointment (MongoDB ObjectId).*/
     @Id
     private String id;
@@ -41,6 +60,7 @@ public class Appointment {
     @NotNull(message = "Appointment date is required")
     @FutureOrPresent(message = "Appointment date must be today or in the future")
     @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    @Indexed(name = "date")
     private LocalDate date;
 
     /** Reason for the appointment. */
@@ -51,4 +71,8 @@ public class Appointment {
     @NotNull(message = "Status is required")
     private Status status; //  Enum type for stricter validation
 
+    /** Slot of the doctor's day taken by the appointment (0 to daily capacity - 1); assigned on insert. */
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Integer slot;
+
 }
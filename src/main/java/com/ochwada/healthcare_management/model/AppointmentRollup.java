@@ -0,0 +1,64 @@
+package com.ochwada.healthcare_management.model;
+
+
+import lombok.*;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDate;
+
+/**
+ * *******************************************************
+ * Package: com.ochwada.healthcare_management.model
+ * File: AppointmentRollup.java
+ * Author: Ochwada
+ * Date: Saturday, 17.Oct.2026, 6:45 PM
+ * Description: Appointment counts of one doctor on one day, by status, stored in "appointment_rollups".
+ * Objective:
+ * - Kept current with {@code $inc} upserts on every appointment insert and status change, so reports read a few
+ *   small documents instead of the appointments themselves.
+ * - Recomputed from "appointments" by AppointmentRollupService.rebuild() when they drift.
+ * *******************************************************
+ */
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "appointment_rollups")
+@CompoundIndexes({
+        @CompoundIndex(name = "date_doctorId", def = "{'date': 1, 'doctorId': 1}"),
+        @CompoundIndex(name = "doctorId_date", def = "{'doctorId': 1, 'date': 1}")
+})
+public class AppointmentRollup {
+
+    /** {@code <date>:<doctorId>}, see {@link #idOf(String, LocalDate)}. */
+    @Id
+    private String id;
+
+    /** The day counted. */
+    private LocalDate date;
+
+    /** The doctor counted. */
+    private String doctorId;
+
+    /** Appointments of the day per status. */
+    private long scheduled;
+    private long completed;
+    private long cancelled;
+
+    /**
+     * @return the id of the rollup of a doctor's day
+     */
+    public static String idOf(String doctorId, LocalDate date) {
+        return date + ":" + doctorId;
+    }
+
+    /**
+     * @return the name of the field counting appointments in the given status
+     */
+    public static String countField(Status status) {
+        return status.name().toLowerCase();
+    }
+}
@@ -45,5 +45,11 @@ public class Doctor {
     @NotBlank(message = "Email is required")
     private String email;
 
-
+    /**
+     * Optimistic-locking version, incremented by every write. Send it back with an update to have the update
+     * refused (409) if someone else changed the doctor in between. Doctors stored before versioning have none
+     * and match version 0.
+     */
+    @Version
+    private Long version;
 }
@@ -0,0 +1,54 @@
+package com.ochwada.healthcare_management.model;
+
+
+import lombok.*;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+/**
+ * *******************************************************
+ * Package: com.ochwada.healthcare_management.model
+ * File: IdempotencyKey.java
+ * Author: Ochwada
+ * Date: Sunday, 18.Oct.2026, 1:40 AM
+ * Description: A client's {@code Idempotency-Key} and the response to the request that first used it, stored in
+ * "idempotency_keys".
+ * Objective:
+ * - Claimed before the request is processed, so a retry arriving meanwhile on any instance sees it in progress.
+ * - Completed with the response, which retries within the retention window get instead of a second write.
+ * - Removed by MongoDB once {@code expiresAt} has passed (TTL index, checked about once a minute).
+ * *******************************************************
+ */
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "idempotency_keys")
+public class IdempotencyKey {
+
+    /** The endpoint and the client's key, e.g. {@code "/appointments 5f0c…"}. */
+    @Id
+    private String id;
+
+    /** SHA-256 of the request body, telling a retry from another request reusing the key. */
+    private String requestHash;
+
+    /** Whether the response below is stored; {@code false} while the first request is still processed. */
+    private boolean completed;
+
+    /** HTTP status of the stored response. */
+    private Integer status;
+
+    /** Content type of the stored response. */
+    private String contentType;
+
+    /** Body of the stored response. */
+    private byte[] body;
+
+    /** When MongoDB removes the key: the end of the retention window, or of the processing lease while in progress. */
+    @Indexed(name = "expiresAt_ttl", expireAfter = "0s")
+    private Instant expiresAt;
+}
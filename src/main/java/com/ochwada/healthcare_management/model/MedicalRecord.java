@@ -1,9 +1,14 @@
 package com.ochwada.healthcare_management.model;
 
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.validation.constraints.*;
 import lombok.*;
 import org.springframework.data.annotation.*;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.TextIndexed;
+import org.springframework.data.mongodb.core.mapping.TextScore;
 import org.springframework.data.mongodb.core.mapping.Document;
 import org.springframework.format.annotation.DateTimeFormat;
 
@@ -17,6 +22,9 @@ import java.time.LocalDate;
  * Date: Friday, 11.Jul.2025, 10:59 AM
  * Description: Represents a medical record stored in the MongoDB collect "healthcareDB"
  * Objective:
+ * - The (patientID, createdOn desc, _id desc) index serves a patient's history newest first: latest-N, date ranges
+ *   and keyset paging read only the patient's index entries, in order, without an in-memory sort.
+ * - The text index over diagnosis (weight 2) and treatment serves the relevance-ranked record search.
  * *******************************************************
  */
 
@@ -24,6 +32,7 @@ import java.time.LocalDate;
 @NoArgsConstructor
 @AllArgsConstructor
 @Document(collection = "medical_records")
+@CompoundIndex(name = "patientID_createdOn_id", def = "{'patientID': 1, 'createdOn': -1, '_id': -1}")
 public class MedicalRecord {
 
     /** Unique identifier for the medical record (MongoDB ObjectId).*/
@@ -36,10 +45,12 @@ public class MedicalRecord {
 
     /** Diagnosis of the patient. */
     @NotBlank(message = "Diagnosis is required")
+    @TextIndexed(weight = 2)
     private  String diagnosis;
 
     /** Treatment of the patient. */
     @NotBlank(message = "Treatment is required")
+    @TextIndexed
     private String treatment;
 
     /** Date the record was created (must be today or in the past). */
@@ -47,4 +58,10 @@ public class MedicalRecord {
     @PastOrPresent(message = "Created date must be in the past or today")
     @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
     private LocalDate createdOn;
+
+    /** Relevance of the record to a search; only set on search results, never stored. */
+    @TextScore
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Float score;
 }
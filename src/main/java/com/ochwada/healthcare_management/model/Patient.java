@@ -4,6 +4,7 @@ package com.ochwada.healthcare_management.model;
 import jakarta.validation.constraints.*;
 import lombok.*;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 /**
@@ -52,4 +53,12 @@ public class Patient {
             message = "Phone number must be 10–15 digits, optional leading +"
     )
     private String phoneNumber;
+
+    /**
+     * Optimistic-locking version, incremented by every write. Send it back with an update to have the update
+     * refused (409) if someone else changed the patient in between. Patients stored before versioning have none
+     * and match version 0.
+     */
+    @Version
+    private Long version;
 }
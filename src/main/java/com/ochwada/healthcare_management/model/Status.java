@@ -3,6 +3,9 @@ package com.ochwada.healthcare_management.model;
 
 import com.fasterxml.jackson.annotation.*;
 
+import java.util.EnumSet;
+import java.util.Set;
+
 /**
  * *******************************************************
  * Package: com.ochwada.healthcare_management.model
@@ -47,4 +50,30 @@ public enum Status {
     public String toValue() {
         return name().toLowerCase();
     }
+
+    /**
+     * Tells whether an appointment in this status may be moved to {@code target}: a scheduled appointment may be
+     * completed or cancelled, while completed and cancelled appointments are final.
+     *
+     * @param target the requested status
+     * @return {@code true} if the transition is allowed
+     */
+    public boolean canTransitionTo(Status target) {
+        return this == SCHEDULED && target != SCHEDULED;
+    }
+
+    /**
+     * Lists the statuses from which an appointment may be moved to this one.
+     *
+     * @return the legal source statuses, empty if no appointment may be moved to this status
+     */
+    public Set<Status> legalSources() {
+        Set<Status> sources = EnumSet.noneOf(Status.class);
+        for (Status source : values()) {
+            if (source.canTransitionTo(this)) {
+                sources.add(source);
+            }
+        }
+        return sources;
+    }
 }
@@ -3,7 +3,9 @@ package com.ochwada.healthcare_management.repository;
 
 import com.ochwada.healthcare_management.model.Appointment;
 import com.ochwada.healthcare_management.model.Status;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -22,8 +24,9 @@ import java.util.Optional;
  */
 
 
-public interface AppointmentRepository extends MongoRepository<Appointment, String> {
+public interface AppointmentRepository extends MongoRepository<Appointment, String>, AppointmentRepositoryCustom {
     // MongoRepository provides out-of-the-box CRUD methods
+    // AppointmentRepositoryCustom adds unordered bulk inserts
 
 
     /**
@@ -43,6 +46,15 @@ public interface AppointmentRepository extends MongoRepository<Appointment, Stri
      */
     List<Appointment> findByPatientId(String patientId);
 
+    /**
+     * Retrieves the latest appointments of a patient, served by the patientId_date index.
+     *
+     * @param patientId the patient’s ID
+     * @param limit     the maximum number of appointments
+     * @return the appointments, most recent date first
+     */
+    List<Appointment> findByPatientIdOrderByDateDesc(String patientId, Limit limit);
+
     /**
      * Retrieves all appointments for a specific doctor by their ID.
      *
@@ -69,4 +81,16 @@ public interface AppointmentRepository extends MongoRepository<Appointment, Stri
      */
     List<Appointment> findByDateBetween(LocalDate startDate, LocalDate endDate);
 
+    /**
+     * Finds the slots a doctor has booked on a date, i.e. the appointments of that day not in the given status
+     * (CANCELLED). Only {@code slot} is loaded.
+     *
+     * @param doctorId the doctor's ID
+     * @param date     the day
+     * @param status   the status of appointments that do not hold a slot
+     * @return the matching appointments with only their id and slot set
+     */
+    @Query(fields = "{'slot': 1}")
+    List<Appointment> findByDoctorIdAndDateAndStatusNot(String doctorId, LocalDate date, Status status);
+
 }
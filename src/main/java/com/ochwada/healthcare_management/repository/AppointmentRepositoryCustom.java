@@ -0,0 +1,64 @@
+package com.ochwada.healthcare_management.repository;
+
+
+import com.mongodb.WriteConcern;
+import com.ochwada.healthcare_management.model.Appointment;
+import com.ochwada.healthcare_management.model.Status;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * *******************************************************
+ * Package: com.ochwada.healthcare_management.repository
+ * File: AppointmentRepositoryCustom.java
+ * Author: Ochwada
+ * Date: Saturday, 17.Oct.2026, 11:58 AM
+ * Description: Custom repository fragment for Appointment operations that derived queries cannot express.
+ * Spring Data picks up the implementation from {@link AppointmentRepositoryCustomImpl}.
+ * Objective:
+ * *******************************************************
+ */
+public interface AppointmentRepositoryCustom {
+
+    /**
+     * Inserts the appointments with a single unordered bulk write.
+     * *
+     * Every appointment without an id is given a new ObjectId before the write, so the ids of the inserted
+     * documents are known to the caller. Being unordered, a failing document does not stop the others.
+     *
+     * @param appointments the appointments to insert
+     * @return the error message of every document that was not inserted, keyed by its position in {@code appointments};
+     * empty when all were inserted
+     */
+    Map<Integer, String> insertAllUnordered(List<Appointment> appointments);
+
+    /**
+     * Inserts the appointments with a single unordered {@code insertMany}, acknowledged as {@code writeConcern}
+     * asks rather than as the template's default.
+     * *
+     * Ids are assigned as for {@link #insertAllUnordered(List)}. No mapping events are published.
+     *
+     * @param appointments the appointments to insert
+     * @param writeConcern the acknowledgement to wait for
+     * @return the error message of every document that was not inserted, keyed by its position in {@code appointments};
+     * empty when all were inserted (or when the write concern does not wait for an answer)
+     * @throws org.springframework.dao.DataAccessException if the write as a whole failed, including when the write
+     *                                                     concern could not be satisfied
+     */
+    Map<Integer, String> insertAllUnordered(List<Appointment> appointments, WriteConcern writeConcern);
+
+    /**
+     * Moves an appointment to a new status in one {@code findAndModify}, provided it is currently in one of
+     * {@code from}. A cancelled appointment also gives up its slot.
+     *
+     * @param id   the appointment's id
+     * @param from the statuses the appointment may currently be in
+     * @param to   the new status
+     * @return the appointment as it was before the change, or empty if no appointment with this id is in one of
+     * {@code from}
+     */
+    Optional<Appointment> updateStatus(String id, Collection<Status> from, Status to);
+}
@@ -0,0 +1,114 @@
+package com.ochwada.healthcare_management.repository;
+
+
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.MongoException;
+import com.mongodb.WriteConcern;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.client.model.InsertManyOptions;
+import com.ochwada.healthcare_management.model.Appointment;
+import com.ochwada.healthcare_management.model.Status;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.*;
+
+/**
+ * *******************************************************
+ * Package: com.ochwada.healthcare_management.repository
+ * File: AppointmentRepositoryCustomImpl.java
+ * Author: Ochwada
+ * Date: Saturday, 17.Oct.2026, 12:01 PM
+ * Description: {@link MongoTemplate} backed implementation of {@link AppointmentRepositoryCustom}.
+ * Objective:
+ * *******************************************************
+ */
+class AppointmentRepositoryCustomImpl implements AppointmentRepositoryCustom {
+
+    private final MongoTemplate mongoTemplate;
+
+    AppointmentRepositoryCustomImpl(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public Map<Integer, String> insertAllUnordered(List<Appointment> appointments) {
+        if (appointments.isEmpty()) {
+            return Map.of();
+        }
+        for (Appointment appointment : appointments) {
+            if (appointment.getId() == null) {
+                appointment.setId(new ObjectId().toHexString());
+            }
+        }
+        try {
+            mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Appointment.class)
+                    .insert(appointments)
+                    .execute();
+            return Map.of();
+        } catch (BulkOperationException e) {
+            Map<Integer, String> errors = new HashMap<>();
+            for (BulkWriteError error : e.getErrors()) {
+                errors.put(error.getIndex(), error.getMessage());
+            }
+            return errors;
+        }
+    }
+
+    @Override
+    public Map<Integer, String> insertAllUnordered(List<Appointment> appointments, WriteConcern writeConcern) {
+        if (appointments.isEmpty()) {
+            return Map.of();
+        }
+        List<Document> documents = new ArrayList<>(appointments.size());
+        for (Appointment appointment : appointments) {
+            if (appointment.getId() == null) {
+                appointment.setId(new ObjectId().toHexString());
+            }
+            Document document = new Document();
+            mongoTemplate.getConverter().write(appointment, document);
+            documents.add(document);
+        }
+        try {
+            mongoTemplate.getCollection(mongoTemplate.getCollectionName(Appointment.class))
+                    .withWriteConcern(writeConcern)
+                    .insertMany(documents, new InsertManyOptions().ordered(false));
+            return Map.of();
+        } catch (MongoBulkWriteException e) {
+            if (e.getWriteConcernError() != null) {
+                throw translate(e);
+            }
+            Map<Integer, String> errors = new HashMap<>();
+            for (BulkWriteError error : e.getWriteErrors()) {
+                errors.put(error.getIndex(), error.getMessage());
+            }
+            return errors;
+        } catch (MongoException e) {
+            throw translate(e);
+        }
+    }
+
+    private RuntimeException translate(RuntimeException e) {
+        DataAccessException translated = mongoTemplate.getExceptionTranslator().translateExceptionIfPossible(e);
+        return translated != null ? translated : e;
+    }
+
+    @Override
+    public Optional<Appointment> updateStatus(String id, Collection<Status> from, Status to) {
+        Query query = Query.query(Criteria.where("id").is(id).and("status").in(from));
+        Update update = Update.update("status", to);
+        if (to == Status.CANCELLED) {
+            update.unset("slot");
+        }
+        return Optional.ofNullable(mongoTemplate.findAndModify(query, update,
+                FindAndModifyOptions.options().returnNew(false), Appointment.class));
+    }
+}
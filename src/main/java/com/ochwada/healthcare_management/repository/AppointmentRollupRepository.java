@@ -0,0 +1,21 @@
+package com.ochwada.healthcare_management.repository;
+
+
+import com.ochwada.healthcare_management.model.AppointmentRollup;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+/**
+ * *******************************************************
+ * Package: com.ochwada.healthcare_management.repository
+ * File: AppointmentRollupRepository.java
+ * Author: Ochwada
+ * Date: Saturday, 17.Oct.2026, 6:55 PM
+ * Description: Repository of the appointment rollups ("appointment_rollups").
+ * Objective:
+ * *******************************************************
+ */
+public interface AppointmentRollupRepository extends MongoRepository<AppointmentRollup, String>,
+        AppointmentRollupRepositoryCustom {
+    // MongoRepository provides out-of-the-box CRUD methods
+    // AppointmentRollupRepositoryCustom adds the $inc updates, the summaries and the rebuild
+}
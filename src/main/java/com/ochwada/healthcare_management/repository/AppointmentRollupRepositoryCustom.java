@@ -0,0 +1,56 @@
+package com.ochwada.healthcare_management.repository;
+
+
+import com.ochwada.healthcare_management.dto.AppointmentCounts;
+import com.ochwada.healthcare_management.model.Status;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * *******************************************************
+ * Package: com.ochwada.healthcare_management.repository
+ * File: AppointmentRollupRepositoryCustom.java
+ * Author: Ochwada
+ * Date: Saturday, 17.Oct.2026, 6:57 PM
+ * Description: Custom repository fragment maintaining and reading the appointment rollups.
+ * Spring Data picks up the implementation from {@link AppointmentRollupRepositoryCustomImpl}.
+ * Objective:
+ * *******************************************************
+ */
+public interface AppointmentRollupRepositoryCustom {
+
+    /** A doctor's day, the unit counted by one rollup. */
+    record RollupKey(String doctorId, LocalDate date) {
+    }
+
+    /**
+     * Adds to the status counts of doctors' days with one unordered bulk write of {@code $inc} upserts; a missing
+     * rollup is created.
+     *
+     * @param deltas the change of every status count, per doctor's day
+     */
+    void increment(Map<RollupKey, Map<Status, Integer>> deltas);
+
+    /**
+     * Sums the rollups of a date range.
+     *
+     * @param startDate first day counted (inclusive)
+     * @param endDate   last day counted (inclusive)
+     * @param doctorId  only count this doctor; {@code null} for all doctors
+     * @param groupBy   {@code "date"}, {@code "doctorId"}, or {@code null} for a single total
+     * @return the counts per group, sorted by group
+     */
+    List<AppointmentCounts> summarize(LocalDate startDate, LocalDate endDate, String doctorId, String groupBy);
+
+    /**
+     * Recomputes the rollups from the appointments with an aggregation pipeline whose {@code $merge} stage replaces
+     * each recomputed rollup in place; the collection itself is never replaced, so increments to other days carry
+     * on. An increment to a recomputed day made while the pipeline runs may still be overwritten.
+     *
+     * @param before only recompute days before this one; {@code null} for all days
+     * @return the number of rollups after the rebuild
+     */
+    long rebuild(LocalDate before);
+}
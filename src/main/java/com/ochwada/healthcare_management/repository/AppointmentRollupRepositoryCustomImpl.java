@@ -0,0 +1,134 @@
+package com.ochwada.healthcare_management.repository;
+
+
+import com.ochwada.healthcare_management.dto.AppointmentCounts;
+import com.ochwada.healthcare_management.model.Appointment;
+import com.ochwada.healthcare_management.model.AppointmentRollup;
+import com.ochwada.healthcare_management.model.Status;
+import org.bson.Document;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.GroupOperation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+/**
+ * *******************************************************
+ * Package: com.ochwada.healthcare_management.repository
+ * File: AppointmentRollupRepositoryCustomImpl.java
+ * Author: Ochwada
+ * Date: Saturday, 17.Oct.2026, 7:02 PM
+ * Description: {@link MongoTemplate} backed implementation of {@link AppointmentRollupRepositoryCustom}.
+ * Objective:
+ * *******************************************************
+ */
+class AppointmentRollupRepositoryCustomImpl implements AppointmentRollupRepositoryCustom {
+
+    private final MongoTemplate mongoTemplate;
+
+    AppointmentRollupRepositoryCustomImpl(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public void increment(Map<RollupKey, Map<Status, Integer>> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, AppointmentRollup.class);
+        deltas.forEach((key, counts) -> {
+            Update update = new Update()
+                    .setOnInsert("date", key.date())
+                    .setOnInsert("doctorId", key.doctorId());
+            counts.forEach((status, delta) -> update.inc(AppointmentRollup.countField(status), delta));
+            bulk.upsert(new Query(where("_id").is(AppointmentRollup.idOf(key.doctorId(), key.date()))), update);
+        });
+        bulk.execute();
+    }
+
+    @Override
+    public List<AppointmentCounts> summarize(LocalDate startDate, LocalDate endDate, String doctorId, String groupBy) {
+        Criteria criteria = where("date").gte(startDate).lte(endDate);
+        if (doctorId != null) {
+            criteria = criteria.and("doctorId").is(doctorId);
+        }
+        GroupOperation group = (groupBy == null ? Aggregation.group() : Aggregation.group(groupBy))
+                .sum("scheduled").as("scheduled")
+                .sum("completed").as("completed")
+                .sum("cancelled").as("cancelled");
+
+        List<Document> rows = mongoTemplate.aggregate(Aggregation.newAggregation(
+                        Aggregation.match(criteria),
+                        group,
+                        Aggregation.sort(Sort.Direction.ASC, "_id")),
+                AppointmentRollup.class, Document.class).getMappedResults();
+
+        List<AppointmentCounts> counts = new ArrayList<>(rows.size());
+        for (Document row : rows) {
+            counts.add(new AppointmentCounts(
+                    "date".equals(groupBy) ? toLocalDate(row.getDate("_id")) : null,
+                    "doctorId".equals(groupBy) ? row.getString("_id") : null,
+                    row.get("scheduled", Number.class).longValue(),
+                    row.get("completed", Number.class).longValue(),
+                    row.get("cancelled", Number.class).longValue()));
+        }
+        return counts;
+    }
+
+    @Override
+    public long rebuild(LocalDate before) {
+        String appointments = mongoTemplate.getCollectionName(Appointment.class);
+        String rollups = mongoTemplate.getCollectionName(AppointmentRollup.class);
+        String timezone = ZoneId.systemDefault().getId();
+
+        Document group = new Document("_id", new Document("date", "$date").append("doctorId", "$doctorId"));
+        for (Status status : Status.values()) {
+            group.append(AppointmentRollup.countField(status), new Document("$sum",
+                    new Document("$cond", List.of(new Document("$eq", List.of("$status", status.name())), 1, 0))));
+        }
+        Document project = new Document("_id", new Document("$concat", List.of(
+                new Document("$dateToString", new Document("format", "%Y-%m-%d")
+                        .append("date", "$_id.date")
+                        .append("timezone", timezone)),
+                ":",
+                "$_id.doctorId")))
+                .append("date", "$_id.date")
+                .append("doctorId", "$_id.doctorId");
+        for (Status status : Status.values()) {
+            project.append(AppointmentRollup.countField(status), 1);
+        }
+
+        Document dates = new Document("$type", "date");
+        if (before != null) {
+            // Stored like every LocalDate: at the start of the day in the system time zone
+            dates.append("$lt", Date.from(before.atStartOfDay(ZoneId.systemDefault()).toInstant()));
+        }
+        mongoTemplate.getCollection(appointments).aggregate(List.of(
+                new Document("$match", new Document("doctorId", new Document("$type", "string"))
+                        .append("date", dates)),
+                new Document("$group", group),
+                new Document("$project", project),
+                new Document("$merge", new Document("into", rollups)
+                        .append("on", "_id")
+                        .append("whenMatched", "replace")
+                        .append("whenNotMatched", "insert")))).allowDiskUse(true).toCollection();
+
+        return mongoTemplate.getCollection(rollups).estimatedDocumentCount();
+    }
+
+    private static LocalDate toLocalDate(Date date) {
+        return date.toInstant().atZone(ZoneId.systemDefault()).toLocalDate();
+    }
+}
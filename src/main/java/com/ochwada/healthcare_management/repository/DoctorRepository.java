@@ -2,6 +2,8 @@ package com.ochwada.healthcare_management.repository;
 
 
 import com.ochwada.healthcare_management.model.Doctor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.mongodb.repository.MongoRepository;
 
 import java.util.*;
@@ -19,8 +21,9 @@ import java.util.*;
  */
 
 
-public interface DoctorRepository extends MongoRepository<Doctor, String> {
+public interface DoctorRepository extends MongoRepository<Doctor, String>, DoctorRepositoryCustom {
  // MongoRepository provides out-of-the-box CRUD methods
+ // DoctorRepositoryCustom adds projected summary queries
 
     /**
      * ---------------------------------------------------------------------------
@@ -48,4 +51,31 @@ public interface DoctorRepository extends MongoRepository<Doctor, String> {
      */
     List<Doctor> findByYearsOfExperienceGreaterThan(int years);
 
+    /**
+     * ---------------------------------------------------------------------------
+     * --------------------------------------------------------------
+     * Keyset pagination (ordered by _id):
+     * - First slice
+     * - Slice after a given id
+     * --------------------------------------------------------------
+     * ---------------------------------------------------------------------------
+     */
+
+    /**
+     * Retrieves the first slice of doctors.
+     *
+     * @param pageable page size and sort (expected to be ascending by id)
+     * @return a slice of doctors, with {@link Slice#hasNext()} telling whether more follow
+     */
+    Slice<Doctor> findAllBy(Pageable pageable);
+
+    /**
+     * Retrieves the slice of doctors whose id sorts after the given one.
+     *
+     * @param id       the id of the last doctor of the previous slice
+     * @param pageable page size and sort (expected to be ascending by id)
+     * @return a slice of doctors, with {@link Slice#hasNext()} telling whether more follow
+     */
+    Slice<Doctor> findByIdGreaterThan(String id, Pageable pageable);
+
 }
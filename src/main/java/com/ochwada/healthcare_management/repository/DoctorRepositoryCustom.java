@@ -0,0 +1,73 @@
+package com.ochwada.healthcare_management.repository;
+
+
+import com.ochwada.healthcare_management.dto.DoctorSummary;
+import com.ochwada.healthcare_management.model.Doctor;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * *******************************************************
+ * Package: com.ochwada.healthcare_management.repository
+ * File: DoctorRepositoryCustom.java
+ * Author: Ochwada
+ * Date: Saturday, 17.Oct.2026, 12:50 PM
+ * Description: Custom repository fragment for Doctor queries that derived queries cannot express.
+ * Spring Data picks up the implementation from {@link DoctorRepositoryCustomImpl}.
+ * Objective:
+ * *******************************************************
+ */
+public interface DoctorRepositoryCustom {
+
+    /**
+     * Finds doctor summaries, fetching only the summary fields from MongoDB.
+     * *
+     * Filters mirror the existing finders and are all optional; results are ordered by id.
+     *
+     * @param speciality        only doctors of this speciality, or {@code null}
+     * @param experienceAbove   only doctors with more years of experience than this, or {@code null}
+     * @param afterId           only doctors whose id sorts after this one (keyset cursor), or {@code null}
+     * @param limit             the maximum number of summaries to return
+     * @return up to {@code limit} {@link DoctorSummary} objects ordered by id
+     */
+    List<DoctorSummary> findSummaries(String speciality, Integer experienceAbove, String afterId, int limit);
+
+    /**
+     * Finds the summaries of the given doctors with one {@code $in} query, fetching only the summary fields.
+     *
+     * @param ids the ids of the doctors
+     * @return the summaries of the doctors found, in no particular order
+     */
+    List<DoctorSummary> findSummariesByIds(Collection<String> ids);
+
+    /**
+     * Sets and unsets the given fields of one doctor and increments its version, in a single write.
+     *
+     * @param id              the id of the doctor to update
+     * @param expectedVersion the version the client last read, or {@code null} to update whatever is stored
+     * @param update          the fields to set or unset
+     * @return the updated doctor, or empty if there is no doctor with this id
+     * @throws org.springframework.dao.OptimisticLockingFailureException if the doctor has another version
+     */
+    Optional<Doctor> updateFields(String id, Long expectedVersion, Update update);
+
+    /**
+     * Reads only the speciality and version of one doctor, e.g. to know which cached speciality list an update
+     * of that version leaves stale.
+     *
+     * @param id the id of the doctor
+     * @return the doctor with only its id, speciality and version set, or empty if there is no doctor with this id
+     */
+    Optional<Doctor> findSpecialityById(String id);
+
+    /**
+     * Deletes one doctor and returns it as it was, in a single write.
+     *
+     * @param id the id of the doctor to delete
+     * @return the deleted doctor, or empty if there was no doctor with this id
+     */
+    Optional<Doctor> findAndRemoveById(String id);
+}
@@ -0,0 +1,83 @@
+package com.ochwada.healthcare_management.repository;
+
+
+import com.ochwada.healthcare_management.dto.DoctorSummary;
+import com.ochwada.healthcare_management.model.Doctor;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * *******************************************************
+ * Package: com.ochwada.healthcare_management.repository
+ * File: DoctorRepositoryCustomImpl.java
+ * Author: Ochwada
+ * Date: Saturday, 17.Oct.2026, 12:52 PM
+ * Description: {@link MongoTemplate} backed implementation of {@link DoctorRepositoryCustom}.
+ * Objective:
+ * *******************************************************
+ */
+class DoctorRepositoryCustomImpl implements DoctorRepositoryCustom {
+
+    private final MongoTemplate mongoTemplate;
+
+    DoctorRepositoryCustomImpl(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public List<DoctorSummary> findSummaries(String speciality, Integer experienceAbove, String afterId, int limit) {
+        Query query = new Query();
+        if (speciality != null) {
+            query.addCriteria(Criteria.where("speciality").is(speciality));
+        }
+        if (experienceAbove != null) {
+            query.addCriteria(Criteria.where("yearsOfExperience").gt(experienceAbove));
+        }
+        if (afterId != null) {
+            query.addCriteria(Criteria.where("id").gt(afterId));
+        }
+        query.fields().include("name", "speciality", "yearsOfExperience");
+        query.with(Sort.by(Sort.Direction.ASC, "id")).limit(limit);
+
+        return mongoTemplate.query(Doctor.class)
+                .as(DoctorSummary.class)
+                .matching(query)
+                .all();
+    }
+
+    @Override
+    public List<DoctorSummary> findSummariesByIds(Collection<String> ids) {
+        Query query = Query.query(Criteria.where("id").in(ids));
+        query.fields().include("name", "speciality", "yearsOfExperience");
+
+        return mongoTemplate.query(Doctor.class)
+                .as(DoctorSummary.class)
+                .matching(query)
+                .all();
+    }
+
+    @Override
+    public Optional<Doctor> updateFields(String id, Long expectedVersion, Update update) {
+        return VersionedUpdates.apply(mongoTemplate, Doctor.class, id, expectedVersion, update);
+    }
+
+    @Override
+    public Optional<Doctor> findSpecialityById(String id) {
+        Query query = Query.query(Criteria.where("id").is(id));
+        query.fields().include("speciality", VersionedUpdates.VERSION);
+
+        return Optional.ofNullable(mongoTemplate.findOne(query, Doctor.class));
+    }
+
+    @Override
+    public Optional<Doctor> findAndRemoveById(String id) {
+        return Optional.ofNullable(mongoTemplate.findAndRemove(Query.query(Criteria.where("id").is(id)), Doctor.class));
+    }
+}
@@ -17,8 +17,9 @@ import org.springframework.data.mongodb.repository.MongoRepository;
  */
 
 
-public interface MedicalRecordRepository extends MongoRepository<MedicalRecord, String> {
+public interface MedicalRecordRepository extends MongoRepository<MedicalRecord, String>, MedicalRecordRepositoryCustom {
     // MongoRepository provides out-of-the-box CRUD methods
+    // MedicalRecordRepositoryCustom adds cursor-backed streaming
 
 
 }
@@ -0,0 +1,70 @@
+package com.ochwada.healthcare_management.repository;
+
+
+import com.ochwada.healthcare_management.model.MedicalRecord;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * *******************************************************
+ * Package: com.ochwada.healthcare_management.repository
+ * File: MedicalRecordRepositoryCustom.java
+ * Author: Ochwada
+ * Date: Saturday, 17.Oct.2026, 10:02 AM
+ * Description: Custom repository fragment for Medical Record queries that derived queries cannot express.
+ * Spring Data picks up the implementation from {@link MedicalRecordRepositoryCustomImpl}.
+ * Objective:
+ * *******************************************************
+ */
+public interface MedicalRecordRepositoryCustom {
+
+    /**
+     * Opens a server-side cursor over the medical records matching the optional filters.
+     * *
+     * Documents are pulled from MongoDB batch by batch as the stream is consumed, so memory use does not depend on
+     * the size of the collection. The caller must close the stream (try-with-resources) to release the cursor.
+     *
+     * @param patientID only records of this patient, or {@code null} for all patients
+     * @param from      only records created on or after this date, or {@code null} for no lower bound
+     * @param to        only records created on or before this date, or {@code null} for no upper bound
+     * @return a lazily populated stream of {@link MedicalRecord} objects backed by a MongoDB cursor
+     */
+    Stream<MedicalRecord> streamRecords(String patientID, LocalDate from, LocalDate to);
+
+    /**
+     * Reads one slice of a patient's history, newest first (by {@code createdOn}, then id).
+     * *
+     * Served by the {@code patientID_createdOn_id} index: MongoDB walks the patient's entries in order and stops
+     * after {@code limit} documents, so the cost depends on the page size, not on the size of the collection.
+     *
+     * @param patientID      the patient
+     * @param from           only records created on or after this date, or {@code null}
+     * @param to             only records created on or before this date, or {@code null}
+     * @param afterCreatedOn creation date of the last record of the previous slice, or {@code null} for the first slice
+     * @param afterId        id of the last record of the previous slice; required with {@code afterCreatedOn}
+     * @param limit          the maximum number of records returned
+     * @return the records, newest first
+     */
+    List<MedicalRecord> findPatientHistory(String patientID, LocalDate from, LocalDate to,
+                                           LocalDate afterCreatedOn, String afterId, int limit);
+
+    /**
+     * Full-text search over diagnosis and treatment with MongoDB's text index, best match first.
+     * *
+     * Uses {@code $text} semantics: a record matches any of the words (stemmed, stop words ignored), "quoted phrases"
+     * must appear as such and -words exclude records. The score of each result is set on
+     * {@link MedicalRecord#getScore()}.
+     *
+     * @param text      the search text
+     * @param patientID only records of this patient, or {@code null}
+     * @param from      only records created on or after this date, or {@code null}
+     * @param to        only records created on or before this date, or {@code null}
+     * @param offset    number of best matches to skip
+     * @param limit     the maximum number of records returned
+     * @return the matching records ordered by descending score
+     */
+    List<MedicalRecord> searchText(String text, String patientID, LocalDate from, LocalDate to,
+                                   int offset, int limit);
+}
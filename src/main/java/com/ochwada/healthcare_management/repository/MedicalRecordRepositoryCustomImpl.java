@@ -0,0 +1,110 @@
+package com.ochwada.healthcare_management.repository;
+
+
+import com.ochwada.healthcare_management.model.MedicalRecord;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.TextCriteria;
+import org.springframework.data.mongodb.core.query.TextQuery;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * *******************************************************
+ * Package: com.ochwada.healthcare_management.repository
+ * File: MedicalRecordRepositoryCustomImpl.java
+ * Author: Ochwada
+ * Date: Saturday, 17.Oct.2026, 10:05 AM
+ * Description: {@link MongoTemplate} backed implementation of {@link MedicalRecordRepositoryCustom}.
+ * Objective:
+ * *******************************************************
+ */
+class MedicalRecordRepositoryCustomImpl implements MedicalRecordRepositoryCustom {
+
+    private final MongoTemplate mongoTemplate;
+
+    // Number of documents fetched per cursor round trip while streaming
+    private final int cursorBatchSize;
+
+    MedicalRecordRepositoryCustomImpl(MongoTemplate mongoTemplate,
+                                      @Value("${healthcare.export.cursor-batch-size:500}") int cursorBatchSize) {
+        this.mongoTemplate = mongoTemplate;
+        this.cursorBatchSize = cursorBatchSize;
+    }
+
+    @Override
+    public Stream<MedicalRecord> streamRecords(String patientID, LocalDate from, LocalDate to) {
+        Query query = new Query();
+        if (patientID != null) {
+            query.addCriteria(Criteria.where("patientID").is(patientID));
+        }
+        if (from != null || to != null) {
+            Criteria createdOn = Criteria.where("createdOn");
+            if (from != null) {
+                createdOn.gte(from);
+            }
+            if (to != null) {
+                createdOn.lte(to);
+            }
+            query.addCriteria(createdOn);
+        }
+        query.cursorBatchSize(cursorBatchSize);
+        return mongoTemplate.stream(query, MedicalRecord.class);
+    }
+
+    @Override
+    public List<MedicalRecord> findPatientHistory(String patientID, LocalDate from, LocalDate to,
+                                                  LocalDate afterCreatedOn, String afterId, int limit) {
+        // Records after the cursor are on or before its date, which also tightens the index bounds
+        LocalDate upper = afterCreatedOn != null && (to == null || afterCreatedOn.isBefore(to)) ? afterCreatedOn : to;
+
+        Criteria criteria = Criteria.where("patientID").is(patientID);
+        if (from != null || upper != null) {
+            Criteria createdOn = Criteria.where("createdOn");
+            if (from != null) {
+                createdOn.gte(from);
+            }
+            if (upper != null) {
+                createdOn.lte(upper);
+            }
+            criteria = new Criteria().andOperator(criteria, createdOn);
+        }
+        if (afterCreatedOn != null) {
+            criteria = new Criteria().andOperator(criteria, new Criteria().orOperator(
+                    Criteria.where("createdOn").lt(afterCreatedOn),
+                    Criteria.where("createdOn").is(afterCreatedOn).and("id").lt(afterId)));
+        }
+        Query query = new Query(criteria)
+                .with(Sort.by(Sort.Direction.DESC, "createdOn", "id"))
+                .limit(limit);
+        return mongoTemplate.find(query, MedicalRecord.class);
+    }
+
+    @Override
+    public List<MedicalRecord> searchText(String text, String patientID, LocalDate from, LocalDate to,
+                                          int offset, int limit) {
+        Query query = TextQuery.queryText(TextCriteria.forDefaultLanguage().matching(text))
+                .sortByScore()
+                .skip(offset)
+                .limit(limit);
+        if (patientID != null) {
+            query.addCriteria(Criteria.where("patientID").is(patientID));
+        }
+        if (from != null || to != null) {
+            Criteria createdOn = Criteria.where("createdOn");
+            if (from != null) {
+                createdOn.gte(from);
+            }
+            if (to != null) {
+                createdOn.lte(to);
+            }
+            query.addCriteria(createdOn);
+        }
+        return mongoTemplate.find(query, MedicalRecord.class);
+    }
+}
@@ -3,6 +3,8 @@ package com.ochwada.healthcare_management.repository;
 
 import com.ochwada.healthcare_management.model.Gender;
 import com.ochwada.healthcare_management.model.Patient;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.mongodb.repository.MongoRepository;
 
 import java.util.List;
@@ -20,8 +22,9 @@ import java.util.List;
  */
 
 
-public interface PatientRepository extends MongoRepository<Patient,String> {
+public interface PatientRepository extends MongoRepository<Patient,String>, PatientRepositoryCustom {
  // MongoRepository provides out-of-the-box CRUD methods
+ // PatientRepositoryCustom adds projected summary queries
 
     /**
      * ---------------------------------------------------------------------------
@@ -46,4 +49,29 @@ public interface PatientRepository extends MongoRepository<Patient,String> {
      * @return list of patients with the given gender
      */
     List<Patient> findPatientsByGender(Gender gender);
+
+    /**
+     * ---------------------------------------------------------------------------
+     * --------------------------------------------------------------
+     * Keyset pagination (ordered by _id):
+     * - First slice
+     * - Slice after a given id
+     * --------------------------------------------------------------
+     * ---------------------------------------------------------------------------
+     */
+
+    /**
+     * Retrieves the first slice of patients.
+     * @param pageable page size and sort (expected to be ascending by id)
+     * @return a slice of patients, with {@link Slice#hasNext()} telling whether more follow
+     */
+    Slice<Patient> findAllBy(Pageable pageable);
+
+    /**
+     * Retrieves the slice of patients whose id sorts after the given one.
+     * @param id the id of the last patient of the previous slice
+     * @param pageable page size and sort (expected to be ascending by id)
+     * @return a slice of patients, with {@link Slice#hasNext()} telling whether more follow
+     */
+    Slice<Patient> findByIdGreaterThan(String id, Pageable pageable);
 }
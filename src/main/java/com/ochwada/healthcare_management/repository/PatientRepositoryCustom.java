@@ -0,0 +1,57 @@
+package com.ochwada.healthcare_management.repository;
+
+
+import com.ochwada.healthcare_management.dto.PatientSummary;
+import com.ochwada.healthcare_management.model.Gender;
+import com.ochwada.healthcare_management.model.Patient;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * *******************************************************
+ * Package: com.ochwada.healthcare_management.repository
+ * File: PatientRepositoryCustom.java
+ * Author: Ochwada
+ * Date: Saturday, 17.Oct.2026, 12:45 PM
+ * Description: Custom repository fragment for Patient queries that derived queries cannot express.
+ * Spring Data picks up the implementation from {@link PatientRepositoryCustomImpl}.
+ * Objective:
+ * *******************************************************
+ */
+public interface PatientRepositoryCustom {
+
+    /**
+     * Finds patient summaries, fetching only the summary fields from MongoDB.
+     * *
+     * Filters mirror the existing finders and are all optional; results are ordered by id.
+     *
+     * @param olderThan only patients older than this age, or {@code null}
+     * @param gender    only patients of this gender, or {@code null}
+     * @param afterId   only patients whose id sorts after this one (keyset cursor), or {@code null}
+     * @param limit     the maximum number of summaries to return
+     * @return up to {@code limit} {@link PatientSummary} objects ordered by id
+     */
+    List<PatientSummary> findSummaries(Integer olderThan, Gender gender, String afterId, int limit);
+
+    /**
+     * Finds the summaries of the given patients with one {@code $in} query, fetching only the summary fields.
+     *
+     * @param ids the ids of the patients
+     * @return the summaries of the patients found, in no particular order
+     */
+    List<PatientSummary> findSummariesByIds(Collection<String> ids);
+
+    /**
+     * Sets and unsets the given fields of one patient and increments its version, in a single write.
+     *
+     * @param id              the id of the patient to update
+     * @param expectedVersion the version the client last read, or {@code null} to update whatever is stored
+     * @param update          the fields to set or unset
+     * @return the updated patient, or empty if there is no patient with this id
+     * @throws org.springframework.dao.OptimisticLockingFailureException if the patient has another version
+     */
+    Optional<Patient> updateFields(String id, Long expectedVersion, Update update);
+}
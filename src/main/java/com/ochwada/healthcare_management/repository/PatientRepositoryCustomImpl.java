@@ -0,0 +1,71 @@
+package com.ochwada.healthcare_management.repository;
+
+
+import com.ochwada.healthcare_management.dto.PatientSummary;
+import com.ochwada.healthcare_management.model.Gender;
+import com.ochwada.healthcare_management.model.Patient;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * *******************************************************
+ * Package: com.ochwada.healthcare_management.repository
+ * File: PatientRepositoryCustomImpl.java
+ * Author: Ochwada
+ * Date: Saturday, 17.Oct.2026, 12:47 PM
+ * Description: {@link MongoTemplate} backed implementation of {@link PatientRepositoryCustom}.
+ * Objective:
+ * *******************************************************
+ */
+class PatientRepositoryCustomImpl implements PatientRepositoryCustom {
+
+    private final MongoTemplate mongoTemplate;
+
+    PatientRepositoryCustomImpl(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public List<PatientSummary> findSummaries(Integer olderThan, Gender gender, String afterId, int limit) {
+        Query query = new Query();
+        if (olderThan != null) {
+            query.addCriteria(Criteria.where("age").gt(olderThan));
+        }
+        if (gender != null) {
+            query.addCriteria(Criteria.where("gender").is(gender));
+        }
+        if (afterId != null) {
+            query.addCriteria(Criteria.where("id").gt(afterId));
+        }
+        query.fields().include("name", "age", "gender");
+        query.with(Sort.by(Sort.Direction.ASC, "id")).limit(limit);
+
+        return mongoTemplate.query(Patient.class)
+                .as(PatientSummary.class)
+                .matching(query)
+                .all();
+    }
+
+    @Override
+    public List<PatientSummary> findSummariesByIds(Collection<String> ids) {
+        Query query = Query.query(Criteria.where("id").in(ids));
+        query.fields().include("name", "age", "gender");
+
+        return mongoTemplate.query(Patient.class)
+                .as(PatientSummary.class)
+                .matching(query)
+                .all();
+    }
+
+    @Override
+    public Optional<Patient> updateFields(String id, Long expectedVersion, Update update) {
+        return VersionedUpdates.apply(mongoTemplate, Patient.class, id, expectedVersion, update);
+    }
+}
@@ -0,0 +1,48 @@
+package com.ochwada.healthcare_management.repository;
+
+
+import com.ochwada.healthcare_management.model.Appointment;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import reactor.core.publisher.Flux;
+
+import java.time.LocalDate;
+
+/**
+ * *******************************************************
+ * Package: com.ochwada.healthcare_management.repository
+ * File: ReactiveAppointmentRepository.java
+ * Author: Ochwada
+ * Date: Saturday, 17.Oct.2026, 1:25 PM
+ * Description: Reactive counterpart of {@link AppointmentRepository} for the read path. Only created when the
+ * "reactive" profile enables the reactive MongoDB auto-configuration.
+ * Objective: Same derived queries as AppointmentRepository, so both paths return identical results.
+ * *******************************************************
+ */
+public interface ReactiveAppointmentRepository extends ReactiveMongoRepository<Appointment, String> {
+
+    /**
+     * Streams all appointments for a specific patient by their ID.
+     *
+     * @param patientId the patient’s ID
+     * @return a {@link Flux} of {@link Appointment} objects, empty if none found
+     */
+    Flux<Appointment> findByPatientId(String patientId);
+
+    /**
+     * Streams all appointments for a specific doctor by their ID.
+     *
+     * @param doctorId the doctor's ID
+     * @return a {@link Flux} of {@link Appointment} objects, empty if none found
+     */
+    Flux<Appointment> findByDoctorId(String doctorId);
+
+    /**
+     * Streams all appointments scheduled between two dates, with the same bounds as
+     * {@link AppointmentRepository#findByDateBetween(LocalDate, LocalDate)}.
+     *
+     * @param startDate the start of the date range
+     * @param endDate   the end of the date range
+     * @return a {@link Flux} of appointments within the date range, empty if none found
+     */
+    Flux<Appointment> findByDateBetween(LocalDate startDate, LocalDate endDate);
+}
@@ -0,0 +1,63 @@
+package com.ochwada.healthcare_management.repository;
+
+
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.Optional;
+
+/**
+ * *******************************************************
+ * Package: com.ochwada.healthcare_management.repository
+ * File: VersionedUpdates.java
+ * Author: Ochwada
+ * Date: Saturday, 17.Oct.2026, 11:20 PM
+ * Description: Targeted updates of documents carrying an {@code @Version} field, in one {@code findAndModify}.
+ * - The version is incremented with the update and, when the caller names the version it last read, is part of
+ *   the match, so a concurrent change makes the update miss instead of overwriting it.
+ * - Documents stored before versioning have no version field and match an expected version of 0.
+ * Objective: Replace read-modify-write {@code save()} calls with a single conditional write.
+ * *******************************************************
+ */
+final class VersionedUpdates {
+
+    static final String VERSION = "version";
+
+    private VersionedUpdates() {
+    }
+
+    /**
+     * Applies {@code update} to the document with the given id.
+     *
+     * @param mongoTemplate   the template to run the update with
+     * @param type            the entity type, which names the collection and maps property names and values
+     * @param id              the id of the document to update
+     * @param expectedVersion the version the caller last read, or {@code null} to update whatever is stored
+     * @param update          the fields to set or unset; the version increment is added here
+     * @return the updated entity, or empty if there is no document with this id
+     * @throws OptimisticLockingFailureException if the document exists with another version
+     */
+    static <T> Optional<T> apply(MongoTemplate mongoTemplate, Class<T> type, String id,
+                                 Long expectedVersion, Update update) {
+        Query query = Query.query(Criteria.where("id").is(id));
+        if (expectedVersion != null) {
+            query.addCriteria(expectedVersion == 0
+                    ? new Criteria().orOperator(Criteria.where(VERSION).is(0L), Criteria.where(VERSION).exists(false))
+                    : Criteria.where(VERSION).is(expectedVersion));
+        }
+        T updated = mongoTemplate.findAndModify(query, update.inc(VERSION, 1),
+                FindAndModifyOptions.options().returnNew(true), type);
+        if (updated != null) {
+            return Optional.of(updated);
+        }
+        if (expectedVersion != null && mongoTemplate.exists(Query.query(Criteria.where("id").is(id)), type)) {
+            throw new OptimisticLockingFailureException(type.getSimpleName() + " " + id
+                    + " was changed since version " + expectedVersion + "; reload it and retry");
+        }
+        return Optional.empty();
+    }
+}
@@ -0,0 +1,102 @@
+package com.ochwada.healthcare_management.service;
+
+
+import com.ochwada.healthcare_management.dto.DoctorSummary;
+import com.ochwada.healthcare_management.dto.ExpandedAppointment;
+import com.ochwada.healthcare_management.dto.PatientSummary;
+import com.ochwada.healthcare_management.model.Appointment;
+import com.ochwada.healthcare_management.repository.DoctorRepository;
+import com.ochwada.healthcare_management.repository.PatientRepository;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * *******************************************************
+ * Package: com.ochwada.healthcare_management.service
+ * File: AppointmentExpander.java
+ * Author: Ochwada
+ * Date: Sunday, 18.Oct.2026, 3:45 AM
+ * Description: Embeds doctor and patient summaries in appointment lists ({@code ?expand=doctor,patient}).
+ * - The distinct doctor and patient ids of the list are resolved with one {@code $in} query per collection, fetching
+ *   only the summary fields; a list costs at most two queries more, however many appointments it holds.
+ * - An id without a document (e.g. a deleted doctor) leaves the summary out.
+ * Objective: Spare clients one follow-up lookup per row of an appointment list.
+ * *******************************************************
+ */
+@Service
+@Timed("healthcare.service")
+public class AppointmentExpander {
+
+    /** The values {@code expand} accepts. */
+    public static final String DOCTOR = "doctor";
+    public static final String PATIENT = "patient";
+
+    private final DoctorRepository doctorRepository;
+    private final PatientRepository patientRepository;
+
+    /**
+     * Constructor-based dependency injection  using @Autowired.
+     *
+     * @param doctorRepository  The repository reading doctor summaries
+     * @param patientRepository The repository reading patient summaries
+     */
+    @Autowired
+    public AppointmentExpander(DoctorRepository doctorRepository, PatientRepository patientRepository) {
+        this.doctorRepository = doctorRepository;
+        this.patientRepository = patientRepository;
+    }
+
+    /**
+     * 1.
+     * Adds the requested summaries to every appointment of a list.
+     *
+     * @param appointments the appointments, in the order to return them
+     * @param expand       the summaries to add: {@code doctor} and/or {@code patient}
+     * @return the appointments with their summaries, in the same order
+     * @throws IllegalArgumentException if {@code expand} names anything else
+     */
+    public List<ExpandedAppointment> expand(List<Appointment> appointments, Collection<String> expand) {
+        Set<String> wanted = new HashSet<>();
+        for (String value : expand) {
+            String name = value.strip().toLowerCase(Locale.ROOT);
+            if (!name.equals(DOCTOR) && !name.equals(PATIENT)) {
+                throw new IllegalArgumentException("Cannot expand '" + value + "'; use " + DOCTOR + " and/or " + PATIENT);
+            }
+            wanted.add(name);
+        }
+
+        Map<String, DoctorSummary> doctors = wanted.contains(DOCTOR)
+                ? resolve(appointments, Appointment::getDoctorId, doctorRepository::findSummariesByIds, DoctorSummary::id)
+                : Map.of();
+        Map<String, PatientSummary> patients = wanted.contains(PATIENT)
+                ? resolve(appointments, Appointment::getPatientId, patientRepository::findSummariesByIds, PatientSummary::id)
+                : Map.of();
+
+        List<ExpandedAppointment> expanded = new ArrayList<>(appointments.size());
+        for (Appointment appointment : appointments) {
+            expanded.add(new ExpandedAppointment(appointment,
+                    appointment.getDoctorId() == null ? null : doctors.get(appointment.getDoctorId()),
+                    appointment.getPatientId() == null ? null : patients.get(appointment.getPatientId())));
+        }
+        return expanded;
+    }
+
+    private static <S> Map<String, S> resolve(List<Appointment> appointments,
+                                              Function<Appointment, String> reference,
+                                              Function<Collection<String>, List<S>> findByIds,
+                                              Function<S, String> idOf) {
+        Set<String> ids = appointments.stream()
+                .map(reference)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        return findByIds.apply(ids).stream().collect(Collectors.toMap(idOf, Function.identity(), (a, b) -> a));
+    }
+}
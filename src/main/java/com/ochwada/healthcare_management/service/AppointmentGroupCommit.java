@@ -0,0 +1,249 @@
+package com.ochwada.healthcare_management.service;
+
+
+import com.mongodb.WriteConcern;
+import com.ochwada.healthcare_management.model.Appointment;
+import com.ochwada.healthcare_management.repository.AppointmentRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+
+/**
+ * *******************************************************
+ * Package: com.ochwada.healthcare_management.service
+ * File: AppointmentGroupCommit.java
+ * Author: Ochwada
+ * Date: Sunday, 18.Oct.2026, 12:10 AM
+ * Description: Group commit of single appointment inserts ({@code healthcare.appointments.group-commit.enabled}).
+ * - Request threads queue their appointment and wait; one flusher thread takes what is queued, waits at most
+ *   {@code max-delay} for more up to {@code max-batch-size}, and writes the batch with one unordered
+ *   {@code insertMany} acknowledged per {@code write-concern}.
+ * - Every caller gets its own id or its own error (e.g. a {@link DuplicateKeyException} from the unique slot index)
+ *   back, as from {@code repository.insert}. A caller waits at most {@code timeout}; it is then answered with 503.
+ * - While a batch is being written the next one collects in the queue, so batches grow with the load.
+ * - Metrics: {@code healthcare.group.commit.batch.size}, {@code healthcare.group.commit.queue.wait} and
+ *   {@code healthcare.group.commit.queue.size}.
+ * Objective: Replace thousands of acknowledged single-document writes per second with a few bulk writes.
+ * *******************************************************
+ */
+@Component
+public class AppointmentGroupCommit {
+
+    private static final Logger log = LoggerFactory.getLogger(AppointmentGroupCommit.class);
+
+    private final AppointmentRepository repository;
+    private final boolean enabled;
+    private final int maxBatchSize;
+    private final long maxDelayNanos;
+    private final Duration timeout;
+    private final WriteConcern writeConcern;
+
+    private final BlockingQueue<Pending> queue;
+    private final DistributionSummary batchSizes;
+    private final Timer queueWait;
+
+    private volatile boolean running;
+    private Thread flusher;
+
+    /**
+     * A queued appointment and the caller waiting for it.
+     */
+    private record Pending(Appointment appointment, long enqueuedAt, CompletableFuture<Appointment> result) {
+    }
+
+    /**
+     * Constructor-based dependency injection  using @Autowired.
+     *
+     * @param repository    The repository writing the batches
+     * @param registry      The registry of the batch size and queue wait metrics
+     * @param enabled       Whether single inserts go through the group commit at all
+     * @param maxBatchSize  The most appointments written by one bulk write
+     * @param maxDelay      How long the flusher waits for more appointments once it has one
+     * @param queueCapacity The most appointments waiting; further inserts are refused with 503
+     * @param timeout       How long a caller waits for its batch to be written before it is answered with 503
+     * @param writeConcern  The write concern of the bulk writes, by name (e.g. {@code W1}, {@code MAJORITY})
+     */
+    @Autowired
+    public AppointmentGroupCommit(AppointmentRepository repository,
+                                  MeterRegistry registry,
+                                  @Value("${healthcare.appointments.group-commit.enabled:false}") boolean enabled,
+                                  @Value("${healthcare.appointments.group-commit.max-batch-size:256}") int maxBatchSize,
+                                  @Value("${healthcare.appointments.group-commit.max-delay:2ms}") Duration maxDelay,
+                                  @Value("${healthcare.appointments.group-commit.queue-capacity:10000}") int queueCapacity,
+                                  @Value("${healthcare.appointments.group-commit.timeout:10s}") Duration timeout,
+                                  @Value("${healthcare.appointments.group-commit.write-concern:ACKNOWLEDGED}") String writeConcern) {
+        this.repository = repository;
+        this.enabled = enabled;
+        this.maxBatchSize = maxBatchSize;
+        this.maxDelayNanos = maxDelay.toNanos();
+        this.timeout = timeout;
+        this.writeConcern = WriteConcern.valueOf(writeConcern);
+        if (this.writeConcern == null) {
+            throw new IllegalArgumentException("Unknown healthcare.appointments.group-commit.write-concern: " + writeConcern);
+        }
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSizes = DistributionSummary.builder("healthcare.group.commit.batch.size")
+                .description("Appointments written per group-commit bulk write")
+                .baseUnit("appointments")
+                .register(registry);
+        this.queueWait = Timer.builder("healthcare.group.commit.queue.wait")
+                .description("Time an appointment waits in the group-commit queue before its batch is written")
+                .register(registry);
+        Gauge.builder("healthcare.group.commit.queue.size", queue, BlockingQueue::size)
+                .description("Appointments waiting in the group-commit queue")
+                .register(registry);
+    }
+
+    /**
+     * 1.
+     * Tells whether single inserts should go through {@link #insert(Appointment)}.
+     *
+     * @return the value of {@code healthcare.appointments.group-commit.enabled}
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 2.
+     * Inserts the appointment with the next batch and waits for the outcome.
+     *
+     * @param appointment the appointment to insert
+     * @return the inserted appointment, carrying its new id
+     * @throws DuplicateKeyException          if a unique index refused the appointment
+     * @throws RejectedExecutionException     if the queue is full, the group commit is not running or the
+     *                                        appointment was not written within {@code timeout}
+     * @throws org.springframework.dao.DataAccessException if the batch could not be written
+     */
+    public Appointment insert(Appointment appointment) {
+        Pending pending = new Pending(appointment, System.nanoTime(), new CompletableFuture<>());
+        if (!running) {
+            throw new RejectedExecutionException("Appointment group commit is not running");
+        }
+        if (!queue.offer(pending)) {
+            throw new RejectedExecutionException("Too many appointments waiting to be written; please retry");
+        }
+        // stop() may have drained the queue between the check above and the offer; then nothing takes it
+        if (!running && queue.remove(pending)) {
+            throw new RejectedExecutionException("Appointment group commit is not running");
+        }
+        try {
+            return pending.result().get(timeout.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            if (queue.remove(pending)) {
+                throw new RejectedExecutionException("Appointment was not written in time; please retry");
+            }
+            throw new RejectedExecutionException("Appointment write was not confirmed in time; check before retrying");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the appointment to be written", e);
+        }
+    }
+
+    @PostConstruct
+    void start() {
+        if (enabled) {
+            running = true;
+            flusher = Thread.ofPlatform().name("appointment-group-commit").daemon(true).start(this::run);
+        }
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        if (flusher != null) {
+            flusher.join(Duration.ofSeconds(10));
+        }
+        // Anything queued after the flusher stopped is refused rather than left waiting
+        List<Pending> left = new ArrayList<>();
+        queue.drainTo(left);
+        left.forEach(p -> p.result().completeExceptionally(
+                new RejectedExecutionException("Application is shutting down")));
+    }
+
+    private void run() {
+        List<Pending> batch = new ArrayList<>(maxBatchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                Pending first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + maxDelayNanos;
+                while (batch.size() < maxBatchSize) {
+                    queue.drainTo(batch, maxBatchSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= maxBatchSize || remaining <= 0) {
+                        break;
+                    }
+                    Pending next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                running = false;
+            }
+            if (!batch.isEmpty()) {
+                try {
+                    flush(batch);
+                } catch (RuntimeException e) {
+                    // Never let the flusher die: its callers would only be answered by their timeout
+                    log.error("Group commit of {} appointments failed unexpectedly", batch.size(), e);
+                    batch.forEach(p -> p.result().completeExceptionally(e));
+                }
+                batch.clear();
+            }
+        }
+    }
+
+    private void flush(List<Pending> batch) {
+        long start = System.nanoTime();
+        batch.forEach(p -> queueWait.record(start - p.enqueuedAt(), TimeUnit.NANOSECONDS));
+        batchSizes.record(batch.size());
+
+        Map<Integer, String> errors;
+        try {
+            errors = repository.insertAllUnordered(batch.stream().map(Pending::appointment).toList(), writeConcern);
+        } catch (RuntimeException e) {
+            log.warn("Group commit of {} appointments failed", batch.size(), e);
+            batch.forEach(p -> p.result().completeExceptionally(e));
+            return;
+        }
+        for (int i = 0; i < batch.size(); i++) {
+            String error = errors.get(i);
+            if (error == null) {
+                batch.get(i).result().complete(batch.get(i).appointment());
+            } else {
+                // 11000 is MongoDB's duplicate key error, raised as from a single insert
+                batch.get(i).result().completeExceptionally(error.contains("E11000")
+                        ? new DuplicateKeyException(error)
+                        : new DataIntegrityViolationException(error));
+            }
+        }
+    }
+}
@@ -0,0 +1,237 @@
+package com.ochwada.healthcare_management.service;
+
+
+import com.ochwada.healthcare_management.dto.AppointmentCounts;
+import com.ochwada.healthcare_management.model.Appointment;
+import com.ochwada.healthcare_management.model.Status;
+import com.ochwada.healthcare_management.repository.AppointmentRollupRepository;
+import com.ochwada.healthcare_management.repository.AppointmentRollupRepositoryCustom.RollupKey;
+import io.micrometer.core.annotation.Timed;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * *******************************************************
+ * Package: com.ochwada.healthcare_management.service
+ * File: AppointmentRollupService.java
+ * Author: Ochwada
+ * Date: Saturday, 17.Oct.2026, 7:15 PM
+ * Description: Maintains and reads the appointment rollups: counts per doctor, day and status.
+ * Objective:
+ * - Every insert and status change adds to the rollup of the appointment's day with an atomic {@code $inc}.
+ *   The appointment write and the rollup write are separate, so a failure between them makes the rollups drift;
+ *   such failures are logged, never passed on to the caller.
+ * - Drift is repaired by {@link #rebuild()}, run on a schedule, on demand, and at start-up when there are no rollups.
+ *   A rebuild replaces each recomputed rollup in place while inserts and status changes carry on: an increment to a
+ *   day being recomputed can still be lost, leaving that rollup wrong until the next rebuild. The scheduled run
+ *   therefore only recomputes days before today, which rarely change. A rollup of a day left with no appointments
+ *   at all (e.g. counted for an insert that then failed) is not recomputed and keeps its count.
+ * *******************************************************
+ */
+@Service
+@Timed("healthcare.service")
+public class AppointmentRollupService {
+
+    private static final Logger log = LoggerFactory.getLogger(AppointmentRollupService.class);
+
+    // Dependency on the repository layer holding the rollups
+    private final AppointmentRollupRepository repository;
+
+    // Set while a rebuild runs, so that rebuilds never overlap
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+
+    /**
+     * Constructor-based dependency injection  using @Autowired.
+     *
+     * @param repository The repository used to update and aggregate the rollups
+     */
+    @Autowired
+    public AppointmentRollupService(AppointmentRollupRepository repository) {
+        this.repository = repository;
+    }
+
+    /**
+     * ---------------------------------------------------------------------------
+     * --------------------------------------------------------------
+     * Incremental maintenance
+     * --------------------------------------------------------------
+     * ---------------------------------------------------------------------------
+     */
+    /**
+     * 1.
+     * Counts newly inserted appointments, with one bulk write per call.
+     *
+     * @param appointments the inserted appointments
+     */
+    public void recordInserted(List<Appointment> appointments) {
+        Map<RollupKey, Map<Status, Integer>> deltas = new HashMap<>();
+        for (Appointment appointment : appointments) {
+            deltas.computeIfAbsent(new RollupKey(appointment.getDoctorId(), appointment.getDate()),
+                            key -> new EnumMap<>(Status.class))
+                    .merge(appointment.getStatus(), 1, Integer::sum);
+        }
+        apply(deltas);
+    }
+
+    /**
+     * 2.
+     * Moves an appointment from one status count to another.
+     *
+     * @param appointment the appointment, giving its doctor and day
+     * @param from        its previous status
+     * @param to          its new status
+     */
+    public void recordStatusChange(Appointment appointment, Status from, Status to) {
+        if (from == to) {
+            return;
+        }
+        Map<Status, Integer> counts = new EnumMap<>(Status.class);
+        counts.put(from, -1);
+        counts.put(to, 1);
+        apply(Map.of(new RollupKey(appointment.getDoctorId(), appointment.getDate()), counts));
+    }
+
+    private void apply(Map<RollupKey, Map<Status, Integer>> deltas) {
+        try {
+            repository.increment(deltas);
+        } catch (RuntimeException e) {
+            log.warn("Appointment rollups were not updated and have drifted until the next rebuild: {}",
+                    e.getMessage());
+        }
+    }
+
+    /**
+     * ---------------------------------------------------------------------------
+     * --------------------------------------------------------------
+     * Queries
+     * --------------------------------------------------------------
+     * ---------------------------------------------------------------------------
+     */
+    /**
+     * 3.
+     * Appointment counts per day of a date range.
+     *
+     * @param startDate first day (inclusive)
+     * @param endDate   last day (inclusive)
+     * @param doctorId  only count this doctor; {@code null} for all doctors
+     * @return counts for every day with appointments, oldest first
+     * @throws IllegalArgumentException if {@code startDate} is after {@code endDate}
+     */
+    public List<AppointmentCounts> getDailyCounts(LocalDate startDate, LocalDate endDate, String doctorId) {
+        return summarize(startDate, endDate, doctorId, "date");
+    }
+
+    /**
+     * 4.
+     * Appointment counts per doctor over a date range.
+     *
+     * @param startDate first day (inclusive)
+     * @param endDate   last day (inclusive)
+     * @return counts for every doctor with appointments, by doctor id
+     * @throws IllegalArgumentException if {@code startDate} is after {@code endDate}
+     */
+    public List<AppointmentCounts> getDoctorCounts(LocalDate startDate, LocalDate endDate) {
+        return summarize(startDate, endDate, null, "doctorId");
+    }
+
+    /**
+     * 5.
+     * Total appointment counts over a date range.
+     *
+     * @param startDate first day (inclusive)
+     * @param endDate   last day (inclusive)
+     * @param doctorId  only count this doctor; {@code null} for all doctors
+     * @return the totals; all zero when there are no appointments
+     * @throws IllegalArgumentException if {@code startDate} is after {@code endDate}
+     */
+    public AppointmentCounts getTotals(LocalDate startDate, LocalDate endDate, String doctorId) {
+        List<AppointmentCounts> totals = summarize(startDate, endDate, doctorId, null);
+        return totals.isEmpty() ? new AppointmentCounts(null, doctorId, 0, 0, 0) : totals.get(0);
+    }
+
+    private List<AppointmentCounts> summarize(LocalDate startDate, LocalDate endDate, String doctorId, String groupBy) {
+        if (startDate.isAfter(endDate)) {
+            throw new IllegalArgumentException("startDate must not be after endDate");
+        }
+        return repository.summarize(startDate, endDate, doctorId, groupBy);
+    }
+
+    /**
+     * ---------------------------------------------------------------------------
+     * --------------------------------------------------------------
+     * Rebuild
+     * --------------------------------------------------------------
+     * ---------------------------------------------------------------------------
+     */
+    /**
+     * 6.
+     * Recomputes all rollups from the appointments.
+     *
+     * @return the number of rollups after the rebuild
+     * @throws RejectedExecutionException if a rebuild is already running
+     */
+    public long rebuild() {
+        return rebuild(null);
+    }
+
+    private long rebuild(LocalDate before) {
+        if (!rebuilding.compareAndSet(false, true)) {
+            throw new RejectedExecutionException("An appointment rollup rebuild is already running");
+        }
+        try {
+            long rollups = repository.rebuild(before);
+            log.info("Rebuilt {} appointment rollups", rollups);
+            return rollups;
+        } finally {
+            rebuilding.set(false);
+        }
+    }
+
+    /**
+     * 7.
+     * Scheduled rebuild of the days before today, repairing their drift
+     * ({@code healthcare.appointments.rollups.rebuild-cron}; "-" disables it).
+     */
+    @Scheduled(cron = "${healthcare.appointments.rollups.rebuild-cron:0 30 3 * * *}")
+    public void scheduledRebuild() {
+        rebuildQuietly(LocalDate.now());
+    }
+
+    /**
+     * 8.
+     * Builds the rollups once the application is ready if there are none yet, e.g. on the first deployment.
+     */
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        try {
+            if (repository.count() == 0) {
+                rebuildQuietly(null);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Could not check the appointment rollups: {}", e.getMessage());
+        }
+    }
+
+    private void rebuildQuietly(LocalDate before) {
+        try {
+            rebuild(before);
+        } catch (RuntimeException e) {
+            log.warn("Appointment rollup rebuild did not complete: {}", e.getMessage());
+        }
+    }
+}
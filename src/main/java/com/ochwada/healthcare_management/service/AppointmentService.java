@@ -1,11 +1,24 @@
 package com.ochwada.healthcare_management.service;
 
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ochwada.healthcare_management.dto.BulkInsertResponse;
+import com.ochwada.healthcare_management.dto.BulkItemResult;
+import com.ochwada.healthcare_management.exception.AppointmentConflictException;
+import com.ochwada.healthcare_management.exception.StatusTransitionException;
 import com.ochwada.healthcare_management.model.Appointment;
 import com.ochwada.healthcare_management.model.Doctor;
 import com.ochwada.healthcare_management.model.Status;
 import com.ochwada.healthcare_management.repository.AppointmentRepository;
+import io.micrometer.core.annotation.Timed;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
@@ -23,20 +36,67 @@ import java.util.*;
  */
 
 @Service
+@Timed("healthcare.service")
 public class AppointmentService {
 
+    private static final Logger log = LoggerFactory.getLogger(AppointmentService.class);
+
     // Dependency on the repository layer to perform CRUD operations on the Appointment document
     private final AppointmentRepository repository;
 
+    // Slots booked per doctor and day, checked before every insert
+    private final DoctorScheduleIndex scheduleIndex;
+
+    // Counts per doctor, day and status, updated after every insert
+    private final AppointmentRollupService rollupService;
+
+    // Coalesces concurrent single inserts into bulk writes, when enabled
+    private final AppointmentGroupCommit groupCommit;
+
+    // Shares one query between concurrent reads of the same doctor's appointments
+    private final SingleFlight<String, List<Appointment>> doctorReads;
+
+    // Bean Validation and JSON mapping for items of bulk requests, which are validated one by one
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+
+    // Appointments per MongoDB bulk write, and the most a single bulk request may carry
+    private final int bulkBatchSize;
+    private final int bulkMaxItems;
+
     /**
      * Constructor-based dependency injection  using @Autowired. (constructor injection of repository)
      * Spring injects ('introduces') an instance of AppointmentRepository at runtime.
      *
-     * @param repository The repository used to access Appointment data from MongoDB
+     * @param repository    The repository used to access Appointment data from MongoDB
+     * @param scheduleIndex The in-memory index of booked slots, rejecting double bookings
+     * @param rollupService The service maintaining the appointment rollups
+     * @param groupCommit   The optional group commit of single inserts
+     * @param singleFlights Creates the flight coalescing concurrent reads of a doctor's appointments
+     * @param validator     The Bean Validation validator applying the Appointment constraints
+     * @param objectMapper  The Jackson mapper used to read the items of bulk requests
+     * @param bulkBatchSize Number of appointments sent to MongoDB per bulk write
+     * @param bulkMaxItems  Maximum number of appointments accepted in one bulk request
      */
     @Autowired
-    public AppointmentService(AppointmentRepository repository) {
+    public AppointmentService(AppointmentRepository repository,
+                              DoctorScheduleIndex scheduleIndex,
+                              AppointmentRollupService rollupService,
+                              AppointmentGroupCommit groupCommit,
+                              SingleFlights singleFlights,
+                              Validator validator,
+                              ObjectMapper objectMapper,
+                              @Value("${healthcare.appointments.bulk.batch-size:500}") int bulkBatchSize,
+                              @Value("${healthcare.appointments.bulk.max-items:5000}") int bulkMaxItems) {
         this.repository = repository;
+        this.scheduleIndex = scheduleIndex;
+        this.rollupService = rollupService;
+        this.groupCommit = groupCommit;
+        this.doctorReads = singleFlights.create("appointments.by-doctor");
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.bulkBatchSize = bulkBatchSize;
+        this.bulkMaxItems = bulkMaxItems;
     }
 
     /**
@@ -44,6 +104,8 @@ public class AppointmentService {
      * --------------------------------------------------------------
      * Business methods like
      * - addAppointment(),
+     * - addAppointments(),
+     * - changeStatus(),
      * - getAllAppointmentsForPatient(),
      * - getAllAppointmentsForDoctor()
      * --------------------------------------------------------------
@@ -52,12 +114,216 @@ public class AppointmentService {
     /**
      * 1.
      * Create a new Appointment record
+     * *
+     * Unless the appointment is cancelled, it takes a free slot of the doctor's day from {@link DoctorScheduleIndex},
+     * so a fully booked day is rejected without querying MongoDB. If another instance took the same slot meanwhile,
+     * the unique slot index refuses the insert; the day is then reloaded and the booking retried once.
+     * The inserted appointment is counted in the appointment rollups.
+     * With {@code healthcare.appointments.group-commit.enabled} the insert is written together with those of
+     * concurrent requests by {@link AppointmentGroupCommit}; this call still returns its own id or error.
      *
      * @param appointment Appointment to insert.
      * @return inserted Appointment.
+     * @throws AppointmentConflictException if the doctor is fully booked on that day
      */
     public Appointment addAppointment(Appointment appointment) {
-        return repository.insert(appointment);
+        Appointment inserted = insert(appointment);
+        rollupService.recordInserted(List.of(inserted));
+        return inserted;
+    }
+
+    private Appointment insert(Appointment appointment) {
+        if (appointment.getStatus() == Status.CANCELLED) {
+            appointment.setSlot(null);
+            return write(appointment);
+        }
+        try {
+            return insertIntoFreeSlot(appointment);
+        } catch (DuplicateKeyException e) {
+            if (!isSlotConflict(e)) {
+                throw e;
+            }
+            scheduleIndex.invalidate(appointment.getDoctorId(), appointment.getDate());
+        }
+        try {
+            return insertIntoFreeSlot(appointment);
+        } catch (DuplicateKeyException e) {
+            if (!isSlotConflict(e)) {
+                throw e;
+            }
+            scheduleIndex.invalidate(appointment.getDoctorId(), appointment.getDate());
+            throw new AppointmentConflictException("Doctor " + appointment.getDoctorId()
+                    + " was booked concurrently on " + appointment.getDate() + "; please retry");
+        }
+    }
+
+    /**
+     * Reserves a slot for the appointment and inserts it, freeing the slot again if the insert fails.
+     */
+    private Appointment insertIntoFreeSlot(Appointment appointment) {
+        int slot = scheduleIndex.reserve(appointment.getDoctorId(), appointment.getDate());
+        appointment.setSlot(slot);
+        try {
+            return write(appointment);
+        } catch (RuntimeException e) {
+            scheduleIndex.release(appointment.getDoctorId(), appointment.getDate(), slot);
+            appointment.setSlot(null);
+            throw e;
+        }
+    }
+
+    private Appointment write(Appointment appointment) {
+        return groupCommit.isEnabled() ? groupCommit.insert(appointment) : repository.insert(appointment);
+    }
+
+    private static boolean isSlotConflict(RuntimeException e) {
+        return e.getMessage() != null && e.getMessage().contains(Appointment.SLOT_INDEX);
+    }
+
+    /**
+     * 1b.
+     * Creates many Appointment records at once, reporting the outcome of every item.
+     * *
+     * Each item is read and validated on its own with the {@link Appointment} constraints; invalid items are rejected
+     * without touching MongoDB. Valid ones are written with unordered bulk inserts of the configured batch size, so
+     * a failing document (e.g. a duplicate id) only fails itself. Slots are reserved as for
+     * {@link #addAppointment(Appointment)}; an item whose doctor is fully booked fails without being sent, and one
+     * refused by the unique slot index fails without a retry.
+     * If a whole batch fails (e.g. a timeout or a lost connection), its items and those of the remaining batches are
+     * reported as failed and the appointments written by the earlier batches are still reported and counted.
+     *
+     * @param items the raw JSON items of the request, in request order
+     * @return a {@link BulkInsertResponse} with one {@link BulkItemResult} per item
+     * @throws IllegalArgumentException if the request carries more items than allowed
+     */
+    public BulkInsertResponse addAppointments(List<JsonNode> items) {
+        if (items.size() > bulkMaxItems) {
+            throw new IllegalArgumentException(
+                    "A bulk request may contain at most " + bulkMaxItems + " appointments, got " + items.size());
+        }
+
+        BulkItemResult[] results = new BulkItemResult[items.size()];
+        List<Appointment> valid = new ArrayList<>(items.size());
+        List<Integer> positions = new ArrayList<>(items.size());
+
+        for (int i = 0; i < items.size(); i++) {
+            Appointment appointment;
+            try {
+                appointment = objectMapper.treeToValue(items.get(i), Appointment.class);
+            } catch (Exception e) {
+                results[i] = BulkItemResult.rejected(i, List.of("Unreadable appointment: " + e.getMessage()));
+                continue;
+            }
+            if (appointment == null) {
+                results[i] = BulkItemResult.rejected(i, List.of("Appointment is required"));
+                continue;
+            }
+            Set<ConstraintViolation<Appointment>> violations = validator.validate(appointment);
+            if (!violations.isEmpty()) {
+                results[i] = BulkItemResult.rejected(i, violations.stream()
+                        .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                        .sorted()
+                        .toList());
+                continue;
+            }
+            if (appointment.getStatus() == Status.CANCELLED) {
+                appointment.setSlot(null);
+            } else {
+                try {
+                    appointment.setSlot(scheduleIndex.reserve(appointment.getDoctorId(), appointment.getDate()));
+                } catch (AppointmentConflictException e) {
+                    results[i] = BulkItemResult.failed(i, e.getMessage());
+                    continue;
+                }
+            }
+            valid.add(appointment);
+            positions.add(i);
+        }
+
+        List<Appointment> inserted = new ArrayList<>(valid.size());
+        for (int from = 0; from < valid.size(); from += bulkBatchSize) {
+            List<Appointment> batch = valid.subList(from, Math.min(from + bulkBatchSize, valid.size()));
+            Map<Integer, String> errors;
+            try {
+                errors = repository.insertAllUnordered(batch);
+            } catch (RuntimeException e) {
+                log.warn("Bulk insert stopped after {} of {} appointments: {}", from, valid.size(), e.getMessage());
+                // Part of the failed batch may have been written: reload those days rather than free their slots
+                for (int j = 0; j < batch.size(); j++) {
+                    Appointment appointment = batch.get(j);
+                    scheduleIndex.invalidate(appointment.getDoctorId(), appointment.getDate());
+                    int index = positions.get(from + j);
+                    results[index] = BulkItemResult.failed(index,
+                            "Bulk write failed, the appointment may or may not have been written: " + e.getMessage());
+                }
+                for (int j = from + batch.size(); j < valid.size(); j++) {
+                    Appointment appointment = valid.get(j);
+                    scheduleIndex.release(appointment.getDoctorId(), appointment.getDate(), appointment.getSlot());
+                    int index = positions.get(j);
+                    results[index] = BulkItemResult.failed(index, "Not written: an earlier bulk write failed");
+                }
+                break;
+            }
+            for (int j = 0; j < batch.size(); j++) {
+                int index = positions.get(from + j);
+                Appointment appointment = batch.get(j);
+                String error = errors.get(j);
+                if (error == null) {
+                    results[index] = BulkItemResult.inserted(index, appointment.getId());
+                    inserted.add(appointment);
+                    continue;
+                }
+                if (error.contains(Appointment.SLOT_INDEX)) {
+                    scheduleIndex.invalidate(appointment.getDoctorId(), appointment.getDate());
+                } else {
+                    scheduleIndex.release(appointment.getDoctorId(), appointment.getDate(), appointment.getSlot());
+                }
+                results[index] = BulkItemResult.failed(index, error);
+            }
+        }
+        rollupService.recordInserted(inserted);
+        return BulkInsertResponse.of(Arrays.asList(results));
+    }
+
+    /**
+     * 1c.
+     * Moves an appointment to a new status, e.g. cancels or completes it.
+     * *
+     * The change is one conditional {@code findAndModify} that only matches while the appointment is in a status
+     * the transition is legal from ({@link Status#legalSources()}), so of two concurrent cancellations exactly one
+     * succeeds. The document as it was is returned by the same round trip; it gives the previous status for the
+     * rollups and, on cancellation, the slot to hand back to the doctor's schedule.
+     *
+     * @param id the appointment's id
+     * @param to the new status
+     * @return the appointment with its new status, or empty if there is no appointment with this id
+     * @throws StatusTransitionException if the appointment's current status does not allow the change
+     */
+    public Optional<Appointment> changeStatus(String id, Status to) {
+        Optional<Appointment> previous = repository.updateStatus(id, to.legalSources(), to);
+        if (previous.isEmpty()) {
+            Optional<Appointment> current = repository.findById(id);
+            if (current.isPresent()) {
+                throw new StatusTransitionException("Appointment " + id + " is " + current.get().getStatus().toValue()
+                        + " and cannot be changed to " + to.toValue());
+            }
+            return Optional.empty();
+        }
+
+        Appointment appointment = previous.get();
+        Status from = appointment.getStatus();
+        if (to == Status.CANCELLED) {
+            if (appointment.getSlot() != null) {
+                scheduleIndex.release(appointment.getDoctorId(), appointment.getDate(), appointment.getSlot());
+            } else {
+                // Booked before slots existed: only counted in the day's schedule, which is reloaded
+                scheduleIndex.invalidate(appointment.getDoctorId(), appointment.getDate());
+            }
+            appointment.setSlot(null);
+        }
+        appointment.setStatus(to);
+        rollupService.recordStatusChange(appointment, from, to);
+        return Optional.of(appointment);
     }
 
     /**
@@ -74,12 +340,15 @@ public class AppointmentService {
     /**
      * 3.
      * Retrieves all appointments from the MongoDB database for a specific doctor.
+     * *
+     * Concurrent calls for the same doctor (e.g. every terminal of a clinic polling its schedule) share one query
+     * through a {@link SingleFlight}; the list is shared by those callers.
      *
      * @param doctorId the ID of the doctor whose appointments are being retrieved
      * @return a list of {@link Appointment} objects for the given doctor, or an empty list if none found
      */
     public List<Appointment> getAllAppointmentsForDoctor(String doctorId) {
-        return repository.findByDoctorId(doctorId);
+        return doctorReads.execute(doctorId, () -> repository.findByDoctorId(doctorId));
     }
 
 
@@ -0,0 +1,82 @@
+package com.ochwada.healthcare_management.service;
+
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.mapping.event.AfterDeleteEvent;
+import org.springframework.data.mongodb.core.mapping.event.AfterSaveEvent;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * *******************************************************
+ * Package: com.ochwada.healthcare_management.service
+ * File: CollectionVersions.java
+ * Author: Ochwada
+ * Date: Saturday, 17.Oct.2026, 9:40 PM
+ * Description: In-memory change counter per MongoDB collection.
+ * - Bumped after every document saved to or deleted from a collection through Spring Data.
+ * - Combined with a per-start epoch, so counters that restart at zero never repeat a version.
+ * Objective: Let collection endpoints answer a conditional GET without querying MongoDB.
+ * *******************************************************
+ */
+@Component
+public class CollectionVersions {
+
+    // Changes on every application start, so a version handed out by a previous run is never current again
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+
+    private final ConcurrentMap<String, AtomicLong> versions = new ConcurrentHashMap<>();
+
+    /**
+     * 1.
+     * Returns the current version of a collection, e.g. {@code "mf3k2a1x-42"}.
+     * *
+     * Read it before querying the collection: a write landing in between then only costs the client one more
+     * full response, whereas reading it afterwards could label old data with the new version.
+     *
+     * @param collection the MongoDB collection name
+     * @return the epoch and change count of the collection
+     */
+    public String version(String collection) {
+        return epoch + "-" + counter(collection).get();
+    }
+
+    /**
+     * 2.
+     * Marks a collection as changed. Writes that bypass the mapping events (updates and upserts issued on
+     * {@code MongoTemplate}) must call this themselves.
+     *
+     * @param collection the MongoDB collection name
+     */
+    public void bump(String collection) {
+        counter(collection).incrementAndGet();
+    }
+
+    /**
+     * 3.
+     * Bumps the collection of every document inserted or saved through a repository or {@code MongoTemplate}.
+     *
+     * @param event the after-save event
+     */
+    @EventListener
+    public void onAfterSave(AfterSaveEvent<?> event) {
+        bump(event.getCollectionName());
+    }
+
+    /**
+     * 4.
+     * Bumps the collection of every delete issued through a repository or {@code MongoTemplate}.
+     *
+     * @param event the after-delete event
+     */
+    @EventListener
+    public void onAfterDelete(AfterDeleteEvent<?> event) {
+        bump(event.getCollectionName());
+    }
+
+    private AtomicLong counter(String collection) {
+        return versions.computeIfAbsent(collection, name -> new AtomicLong());
+    }
+}
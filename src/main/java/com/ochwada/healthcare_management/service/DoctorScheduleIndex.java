@@ -0,0 +1,153 @@
+package com.ochwada.healthcare_management.service;
+
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.ochwada.healthcare_management.exception.AppointmentConflictException;
+import com.ochwada.healthcare_management.model.Appointment;
+import com.ochwada.healthcare_management.model.Status;
+import com.ochwada.healthcare_management.repository.AppointmentRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.BitSet;
+
+/**
+ * *******************************************************
+ * Package: com.ochwada.healthcare_management.service
+ * File: DoctorScheduleIndex.java
+ * Author: Ochwada
+ * Date: Saturday, 17.Oct.2026, 6:10 PM
+ * Description: In-memory index of the slots booked per doctor and day, used to reject double bookings without a
+ * MongoDB round trip.
+ * Objective:
+ * - A doctor's day has {@code healthcare.appointments.daily-capacity} slots; every appointment that is not
+ *   cancelled holds one, stored in {@link Appointment#getSlot()}.
+ * - A day is loaded from MongoDB the first time it is booked, then kept up to date by the inserts of this instance.
+ *   Appointments stored before slots existed count against the capacity without holding a slot.
+ * - Cancellations handled by other instances are not seen here: a day is reloaded at most {@code expire-after-write}
+ *   after it was loaded, and before a booking is refused as fully booked.
+ * - The unique {@value Appointment#SLOT_INDEX} index is the final guard: when another instance took the same slot,
+ *   the insert fails with a duplicate key, the day is reloaded ({@link #invalidate}) and the booking retried.
+ * *******************************************************
+ */
+@Component
+public class DoctorScheduleIndex {
+
+    // Booked slots of one doctor on one day
+    private record Day(String doctorId, LocalDate date) {
+    }
+
+    private static final class Schedule {
+        private final BitSet slots = new BitSet();
+        private int unslotted;
+
+        synchronized int reserve(int capacity) {
+            int slot = slots.nextClearBit(0);
+            if (unslotted + slots.cardinality() >= capacity || slot >= capacity) {
+                return -1;
+            }
+            slots.set(slot);
+            return slot;
+        }
+
+        synchronized void release(int slot) {
+            slots.clear(slot);
+        }
+    }
+
+    private final AppointmentRepository repository;
+    private final int dailyCapacity;
+    private final Cache<Day, Schedule> schedules;
+
+    /**
+     * Constructor-based dependency injection.
+     *
+     * @param repository          repository the booked slots of a day are loaded from
+     * @param dailyCapacity       appointments a doctor can take per day
+     * @param maxDays             most doctor-days kept in memory
+     * @param expireAfterWrite    how long a doctor-day is kept before it is reloaded from MongoDB
+     */
+    public DoctorScheduleIndex(AppointmentRepository repository,
+                               @Value("${healthcare.appointments.daily-capacity:20}") int dailyCapacity,
+                               @Value("${healthcare.appointments.schedule-cache.max-size:100000}") long maxDays,
+                               @Value("${healthcare.appointments.schedule-cache.expire-after-write:30m}")
+                               Duration expireAfterWrite) {
+        this.repository = repository;
+        this.dailyCapacity = dailyCapacity;
+        this.schedules = Caffeine.newBuilder()
+                .maximumSize(maxDays)
+                .expireAfterWrite(expireAfterWrite)
+                .build();
+    }
+
+    /**
+     * 1.
+     * Takes the lowest free slot of a doctor's day.
+     * *
+     * A day that looks fully booked is reloaded once before the booking is refused, so a slot freed by a
+     * cancellation on another instance is found; the extra query is only paid on that rare path.
+     *
+     * @param doctorId the doctor's ID
+     * @param date     the day of the appointment
+     * @return the reserved slot
+     * @throws AppointmentConflictException if the day is fully booked
+     */
+    public int reserve(String doctorId, LocalDate date) {
+        Day day = new Day(doctorId, date);
+        int slot = schedules.get(day, this::load).reserve(dailyCapacity);
+        if (slot < 0) {
+            schedules.invalidate(day);
+            slot = schedules.get(day, this::load).reserve(dailyCapacity);
+        }
+        if (slot < 0) {
+            throw new AppointmentConflictException("Doctor " + doctorId + " is fully booked on " + date
+                    + " (" + dailyCapacity + " appointments per day)");
+        }
+        return slot;
+    }
+
+    /**
+     * 2.
+     * Frees a slot, e.g. after its insert failed or its appointment was cancelled.
+     *
+     * @param doctorId the doctor's ID
+     * @param date     the day of the appointment
+     * @param slot     the slot to free; {@code null} is ignored
+     */
+    public void release(String doctorId, LocalDate date, Integer slot) {
+        if (slot == null) {
+            return;
+        }
+        Schedule schedule = schedules.getIfPresent(new Day(doctorId, date));
+        if (schedule != null) {
+            schedule.release(slot);
+        }
+    }
+
+    /**
+     * 3.
+     * Drops a doctor's day so that its next booking reloads it from MongoDB.
+     *
+     * @param doctorId the doctor's ID
+     * @param date     the day
+     */
+    public void invalidate(String doctorId, LocalDate date) {
+        schedules.invalidate(new Day(doctorId, date));
+    }
+
+    private Schedule load(Day day) {
+        Schedule schedule = new Schedule();
+        for (Appointment booked : repository.findByDoctorIdAndDateAndStatusNot(
+                day.doctorId(), day.date(), Status.CANCELLED)) {
+            if (booked.getSlot() == null) {
+                schedule.unslotted++;
+            } else {
+                schedule.slots.set(booked.getSlot());
+            }
+        }
+        return schedule;
+    }
+}
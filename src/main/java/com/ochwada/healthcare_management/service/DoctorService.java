@@ -1,12 +1,32 @@
 package com.ochwada.healthcare_management.service;
 
 
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.ochwada.healthcare_management.config.CacheConfig;
+import com.ochwada.healthcare_management.dto.BatchLookup;
+import com.ochwada.healthcare_management.dto.CacheStatistics;
+import com.ochwada.healthcare_management.dto.CursorPage;
+import com.ochwada.healthcare_management.dto.DoctorSummary;
 import com.ochwada.healthcare_management.model.Doctor;
 import com.ochwada.healthcare_management.repository.DoctorRepository;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -20,29 +40,66 @@ import java.util.Optional;
  * *******************************************************
  */
 @Service
+@Timed("healthcare.service")
 public class DoctorService {
 
     // Dependency on the repository layer to perform CRUD operations on Doctor documents
     private final DoctorRepository repository;
 
+    // Builds the $set/$unset updates of PUT and PATCH, and the change counters those updates must bump
+    private final FieldUpdates fieldUpdates;
+    private final CollectionVersions collectionVersions;
+
+    // Read-through caches for lookups by id and by speciality (see CacheConfig)
+    private final CaffeineCache doctorCache;
+    private final CaffeineCache specialityCache;
+
+    // Page size used when the client does not ask for one, and the largest page size it may ask for
+    private final int defaultPageSize;
+    private final int maxPageSize;
+
+    // The most ids one batch lookup may carry
+    private final int maxBatchIds;
+
     /**
      * Constructor-based dependency injection  using @Autowired. (constructor injection of repository)
      * Spring injects ('introduces') an instance of DoctorRepository at runtime.
      *
-     * @param repository The repository used to access Doctor data from MongoDB
+     * @param repository         The repository used to access Doctor data from MongoDB
+     * @param fieldUpdates       Translates replacements and patches into targeted updates
+     * @param collectionVersions The per-collection change counters behind the collection ETags
+     * @param cacheManager       The cache manager holding the Doctor read caches
+     * @param defaultPageSize    Page size used when the client does not specify one
+     * @param maxPageSize        Upper bound on the page size a client may request
+     * @param maxBatchIds        Upper bound on the ids of one batch lookup
      */
     @Autowired
-    public DoctorService(DoctorRepository repository) {
+    public DoctorService(DoctorRepository repository,
+                         FieldUpdates fieldUpdates,
+                         CollectionVersions collectionVersions,
+                         CacheManager cacheManager,
+                         @Value("${healthcare.paging.default-size:50}") int defaultPageSize,
+                         @Value("${healthcare.paging.max-size:500}") int maxPageSize,
+                         @Value("${healthcare.lookup.max-ids:500}") int maxBatchIds) {
         this.repository = repository;
+        this.fieldUpdates = fieldUpdates;
+        this.collectionVersions = collectionVersions;
+        this.doctorCache = (CaffeineCache) cacheManager.getCache(CacheConfig.DOCTORS);
+        this.specialityCache = (CaffeineCache) cacheManager.getCache(CacheConfig.DOCTORS_BY_SPECIALITY);
+        this.defaultPageSize = defaultPageSize;
+        this.maxPageSize = maxPageSize;
+        this.maxBatchIds = maxBatchIds;
     }
     /**
      * ---------------------------------------------------------------------------
      * --------------------------------------------------------------
      * Business methods like
      * - addDoctor(),
-     * - getAllDoctor(),
+     * - getDoctors(),
      * - getDoctorById(),
+     * - findDoctorsByIds(),
      * - updateDoctor(),
+     * - patchDoctor(),
      * - deleteDoctor()
      * --------------------------------------------------------------
      * ---------------------------------------------------------------------------
@@ -56,40 +113,149 @@ public class DoctorService {
      * @return inserted Doctor
      */
     public Doctor addDoctor(Doctor doctor) {
-        return repository.insert(doctor);
+        Doctor inserted = repository.insert(doctor);
+        specialityCache.evict(inserted.getSpeciality());
+        return inserted;
     }
 
     /**
      * 2.
-     * Retrieve all Doctor from the MongoDB database
+     * Retrieve one slice of Doctors from the MongoDB database, ordered by id.
+     * *
+     * Uses keyset pagination: the next slice starts strictly after the last id of the previous one, so every
+     * slice is an index range scan on {@code _id} no matter how deep the client pages.
      *
-     * @return a List of all Doctor objects stored in the database.
+     * @param cursor opaque cursor returned with the previous slice, or {@code null} for the first slice
+     * @param limit  requested page size, or {@code null} for the default; capped at the configured maximum
+     * @return a {@link CursorPage} of Doctors with the cursor for the next slice
      */
-    public List<Doctor> getAllDoctor() {
-        return repository.findAll();
+    public CursorPage<Doctor> getDoctors(String cursor, Integer limit) {
+        Pageable page = PageRequest.of(0, KeysetCursor.limit(limit, defaultPageSize, maxPageSize),
+                Sort.by(Sort.Direction.ASC, "id"));
+
+        Slice<Doctor> slice = (cursor == null || cursor.isBlank())
+                ? repository.findAllBy(page)
+                : repository.findByIdGreaterThan(KeysetCursor.decode(cursor), page);
+
+        List<Doctor> content = slice.getContent();
+        String next = slice.hasNext() ? KeysetCursor.encode(content.get(content.size() - 1).getId()) : null;
+        return CursorPage.of(content, next);
     }
 
     /**
      * 3.
      * Retrieve a single Doctor by its unique identifier
+     * *
+     * Read-through cached in {@link CacheConfig#DOCTORS}; the entry is dropped when the doctor is updated or deleted.
+     * The cache is synchronized, so dropping the entry waits for a load of it that is still running and drops its
+     * result too.
      *
      * @return An {@link Optional} containing the Doctor if found, or empty if not found.
      */
+    @Cacheable(cacheNames = CacheConfig.DOCTORS, key = "#id", sync = true)
     public Optional<Doctor> findDoctorById(String id) {
         return repository.findById(id);
     }
 
+    /**
+     * 3b.
+     * Retrieve many Doctors by id, e.g. to show the names of an appointment list.
+     * *
+     * Doctors held in {@link CacheConfig#DOCTORS} are taken from there; only the others are read, with one
+     * {@code $in} query. Those are not cached: a put after the query could undo an eviction made by a concurrent
+     * update or delete, while single lookups load through the cache and so serialize with evictions.
+     *
+     * @param ids the ids to look up; duplicates are looked up once
+     * @return the Doctors found, keyed by id, and the ids without a Doctor
+     * @throws IllegalArgumentException if no ids, a blank id or more than {@code healthcare.lookup.max-ids} are given
+     */
+    public BatchLookup<Doctor> findDoctorsByIds(List<String> ids) {
+        List<String> wanted = IdBatches.distinct(ids, maxBatchIds);
+        Map<String, Doctor> found = new HashMap<>();
+        List<String> misses = new ArrayList<>();
+        for (String id : wanted) {
+            Cache.ValueWrapper cached = doctorCache.get(id);
+            if (cached != null && cached.get() instanceof Doctor doctor) {
+                found.put(id, doctor);
+            } else {
+                misses.add(id);
+            }
+        }
+        if (!misses.isEmpty()) {
+            for (Doctor doctor : repository.findAllById(misses)) {
+                found.put(doctor.getId(), doctor);
+            }
+        }
+        return BatchLookup.of(wanted, found);
+    }
+
     /**
      * 4.
      * Updates an existing Doctor with the given ID using the provided update data.
      *
+     * *
+     * Every field is replaced in a single {@code $set}/{@code $unset} update; when the data carries a version, the
+     * update only applies if the stored doctor still has that version.
+     *
      * @param id           The unique identifier of the Doctor to be updated.
-     * @param updateDoctor The updated Doctor data. The ID will be set to match the given ID.
-     * @return The updated {@link Doctor} saved in the database.
+     * @param updateDoctor The updated Doctor data. Its ID is ignored.
+     * @return The updated {@link Doctor}, or empty if there is no doctor with this ID.
+     * @throws org.springframework.dao.OptimisticLockingFailureException if the doctor has another version
      */
-    public Doctor updateDoctor(String id, Doctor updateDoctor) {
-        updateDoctor.setId(id);
-        return repository.save(updateDoctor);
+    public Optional<Doctor> updateDoctor(String id, Doctor updateDoctor) {
+        return update(id, fieldUpdates.fromReplacement(updateDoctor));
+    }
+
+    /**
+     * 4b.
+     * Changes only the given fields of an existing Doctor.
+     * *
+     * The body is a JSON merge patch: named fields are set, and an optional {@code version} makes the update
+     * conditional on the version the client last read.
+     * <p>Example: PATCH /doctors/update-{id} {"yearsOfExperience": 12, "version": 3}</p>
+     *
+     * @param id      The unique identifier of the Doctor to be updated.
+     * @param changes Field name to new value.
+     * @return The updated {@link Doctor}, or empty if there is no doctor with this ID.
+     * @throws IllegalArgumentException if a field is unknown, read-only or invalid
+     * @throws org.springframework.dao.OptimisticLockingFailureException if the doctor has another version
+     */
+    public Optional<Doctor> patchDoctor(String id, Map<String, Object> changes) {
+        return update(id, fieldUpdates.fromPatch(Doctor.class, changes));
+    }
+
+    /*
+     * The update is made conditional on the version whose speciality was read, so the speciality evicted below is
+     * the one the doctor had right before the write. Without a version from the client, a concurrent change of the
+     * doctor makes it read and try again.
+     */
+    private Optional<Doctor> update(String id, FieldUpdates.Changes changes) {
+        while (true) {
+            Optional<Doctor> previous = repository.findSpecialityById(id);
+            if (previous.isEmpty()) {
+                return Optional.empty();
+            }
+            Long version = previous.get().getVersion() == null ? 0L : previous.get().getVersion();
+            if (changes.expectedVersion() != null && !changes.expectedVersion().equals(version)) {
+                throw new OptimisticLockingFailureException("Doctor " + id + " was changed since version "
+                        + changes.expectedVersion() + "; reload it and retry");
+            }
+
+            Optional<Doctor> updated;
+            try {
+                updated = repository.updateFields(id, version, changes.update());
+            } catch (OptimisticLockingFailureException e) {
+                if (changes.expectedVersion() != null) {
+                    throw e;
+                }
+                continue;
+            }
+            updated.ifPresent(doctor -> {
+                evictDoctor(id, previous.get().getSpeciality(), doctor.getSpeciality());
+                collectionVersions.bump("doctors");
+            });
+            return updated;
+        }
     }
 
     /**
@@ -100,7 +266,11 @@ public class DoctorService {
      *           If the ID does not exist, no action is taken.
      */
     public void deleteDoctor(String id) {
-        repository.deleteById(id);
+        // findAndRemove publishes no delete event, so the collection version is bumped here
+        repository.findAndRemoveById(id).ifPresent(doctor -> {
+            evictDoctor(id, doctor.getSpeciality());
+            collectionVersions.bump("doctors");
+        });
     }
 
     /**
@@ -120,9 +290,16 @@ public class DoctorService {
      * Delegates to the repository layer to find all doctors whose speciality  matches the given string (e.g., "Cardiology",
      * "Dermatology", "Pediatrics").
      *
+     * Read-through cached in {@link CacheConfig#DOCTORS_BY_SPECIALITY}; a list is dropped when one of its doctors
+     * changes, joins or leaves the speciality. Concurrent misses of the same speciality (e.g. right after an
+     * eviction) share one query: the cache is synchronized, loading each missing key once. A write evicts the
+     * speciality the doctor had before it and the one it has after it; each eviction waits for a load of that
+     * speciality still running and drops its result too.
+     *
      * @param speciality the medical speciality to filter by
      * @return a list of {@link Doctor} objects with the specified speciality
      */
+    @Cacheable(cacheNames = CacheConfig.DOCTORS_BY_SPECIALITY, key = "#speciality", sync = true)
     public List<Doctor> getDoctorsBySpeciality(String speciality) {
         return repository.findDoctorsBySpeciality(speciality);
     }
@@ -140,5 +317,76 @@ public class DoctorService {
         return repository.findByYearsOfExperienceGreaterThan(years);
     }
 
+    /**
+     * 7b.
+     * Retrieves one page of doctor summaries, optionally filtered by speciality and experience.
+     * *
+     * Only the summary fields are read from MongoDB (field projection), so the email is neither transferred, decoded
+     * nor serialized. Pages are keyed on the doctor id like {@link #getDoctors(String, Integer)}.
+     *
+     * @param speciality      only doctors of this speciality, or {@code null}
+     * @param experienceAbove only doctors with more years of experience than this, or {@code null}
+     * @param cursor          opaque cursor returned with the previous page, or {@code null} for the first page
+     * @param limit           requested page size, or {@code null} for the default; capped at the configured maximum
+     * @return a {@link CursorPage} of {@link DoctorSummary} objects
+     */
+    public CursorPage<DoctorSummary> getDoctorSummaries(String speciality, Integer experienceAbove, String cursor,
+                                                        Integer limit) {
+        int size = KeysetCursor.limit(limit, defaultPageSize, maxPageSize);
+        String afterId = (cursor == null || cursor.isBlank()) ? null : KeysetCursor.decode(cursor);
+
+        // One extra row tells whether another page follows
+        List<DoctorSummary> rows = repository.findSummaries(speciality, experienceAbove, afterId, size + 1);
+        if (rows.size() <= size) {
+            return CursorPage.of(rows, null);
+        }
+        List<DoctorSummary> content = rows.subList(0, size);
+        return CursorPage.of(content, KeysetCursor.encode(content.get(size - 1).id()));
+    }
+
+    /**
+     * ---------------------------------------------------------------------------
+     * --------------------------------------------------------------
+     * Read cache:
+     * - Statistics of the Doctor caches
+     * - Targeted invalidation on writes
+     * --------------------------------------------------------------
+     * ---------------------------------------------------------------------------
+     */
+
+    /**
+     * 8.
+     * Reports hit, miss and eviction statistics of the Doctor read caches.
+     *
+     * @return one {@link CacheStatistics} per cache
+     */
+    public List<CacheStatistics> getCacheStatistics() {
+        List<CacheStatistics> statistics = new ArrayList<>();
+        for (CaffeineCache cache : List.of(doctorCache, specialityCache)) {
+            CacheStats stats = cache.getNativeCache().stats();
+            statistics.add(new CacheStatistics(cache.getName(), cache.getNativeCache().estimatedSize(),
+                    stats.hitCount(), stats.missCount(), stats.hitRate(), stats.evictionCount()));
+        }
+        return statistics;
+    }
+
+    /**
+     * Drops the cached entry of one doctor and the cached lists of the given specialities.
+     * *
+     * Both caches are synchronized: an eviction waits for a load of the same key that is still running and drops
+     * its result, so a doctor or list read before the write is not cached after it.
+     *
+     * @param id           the id of the doctor that changed
+     * @param specialities the specialities the doctor had before and after the change; {@code null}s are skipped
+     */
+    private void evictDoctor(String id, String... specialities) {
+        doctorCache.evict(id);
+        for (String speciality : specialities) {
+            if (speciality != null) {
+                specialityCache.evict(speciality);
+            }
+        }
+    }
+
 
 }
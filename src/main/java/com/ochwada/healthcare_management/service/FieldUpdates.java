@@ -0,0 +1,154 @@
+package com.ochwada.healthcare_management.service;
+
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.data.mapping.PersistentPropertyAccessor;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentProperty;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * *******************************************************
+ * Package: com.ochwada.healthcare_management.service
+ * File: FieldUpdates.java
+ * Author: Ochwada
+ * Date: Saturday, 17.Oct.2026, 11:30 PM
+ * Description: Turns client-supplied changes into a targeted MongoDB {@link Update} ({@code $set} / {@code $unset}).
+ * - A PATCH body names only the fields to change (JSON merge patch: {@code null} removes an optional field).
+ *   Values are converted with the API's Jackson mapper and checked against the entity's Bean Validation
+ *   constraints, field by field.
+ * - A full entity (PUT) sets every field, so fields it leaves out are removed.
+ * - The id cannot be changed; a {@code version} names the version the client last read.
+ * Objective: Update documents without reading them first and without rewriting untouched fields.
+ * *******************************************************
+ */
+@Component
+class FieldUpdates {
+
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final MongoMappingContext mappingContext;
+
+    /**
+     * The update to apply and the version it is conditional on.
+     *
+     * @param update          the {@code $set} / {@code $unset} operations
+     * @param fields          the entity properties the update changes
+     * @param expectedVersion the version the client last read, or {@code null} for an unconditional update
+     */
+    record Changes(Update update, Set<String> fields, Long expectedVersion) {
+    }
+
+    /**
+     * Constructor-based dependency injection.
+     *
+     * @param objectMapper   the API's Jackson mapper, converting PATCH values like request bodies
+     * @param validator      the Bean Validation validator applying the entity constraints
+     * @param mappingContext the MongoDB mapping metadata naming the id, version and persisted properties
+     */
+    FieldUpdates(ObjectMapper objectMapper, Validator validator, MongoMappingContext mappingContext) {
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.mappingContext = mappingContext;
+    }
+
+    /**
+     * 1.
+     * Builds the update for a PATCH body.
+     *
+     * @param type  the entity type
+     * @param patch field name to new value, as sent by the client
+     * @return the update of the named fields
+     * @throws IllegalArgumentException if a field is unknown, not writable or invalid, or nothing is changed
+     */
+    <T> Changes fromPatch(Class<T> type, Map<String, Object> patch) {
+        MongoPersistentEntity<?> entity = mappingContext.getRequiredPersistentEntity(type);
+        Map<String, Object> values = new HashMap<>(patch);
+        Long expectedVersion = expectedVersion(entity, values.remove(versionName(entity)));
+        if (values.isEmpty()) {
+            throw new IllegalArgumentException("No fields to update");
+        }
+
+        for (Map.Entry<String, Object> value : values.entrySet()) {
+            MongoPersistentProperty property = entity.getPersistentProperty(value.getKey());
+            if (property == null || property.isTransient() || property.isTextScoreProperty()) {
+                throw new IllegalArgumentException("Unknown field '" + value.getKey() + "'");
+            }
+            if (property.isIdProperty()) {
+                throw new IllegalArgumentException("Field '" + value.getKey() + "' cannot be changed");
+            }
+            if (value.getValue() == null && property.getType().isPrimitive()) {
+                throw new IllegalArgumentException("Field '" + value.getKey() + "' cannot be removed");
+            }
+        }
+
+        T converted = objectMapper.convertValue(values, type);
+        for (String field : values.keySet()) {
+            Set<ConstraintViolation<T>> violations = validator.validateProperty(converted, field);
+            if (!violations.isEmpty()) {
+                throw new IllegalArgumentException(violations.stream()
+                        .map(ConstraintViolation::getMessage)
+                        .collect(Collectors.joining("; ")));
+            }
+        }
+        return new Changes(toUpdate(entity, converted, values.keySet()), values.keySet(), expectedVersion);
+    }
+
+    /**
+     * 2.
+     * Builds the update replacing every field of a stored entity with those of {@code replacement}, which is
+     * expected to be validated already. The replacement's version, if any, is the expected version.
+     *
+     * @param replacement the new state of the entity
+     * @return the update of all persisted fields except the id and version
+     */
+    <T> Changes fromReplacement(T replacement) {
+        MongoPersistentEntity<?> entity = mappingContext.getRequiredPersistentEntity(replacement.getClass());
+        Set<String> fields = new LinkedHashSet<>();
+        entity.doWithProperties((MongoPersistentProperty property) -> {
+            if (!property.isIdProperty() && !property.isVersionProperty() && !property.isTextScoreProperty()) {
+                fields.add(property.getName());
+            }
+        });
+        Object version = entity.getPropertyAccessor(replacement).getProperty(entity.getRequiredVersionProperty());
+        return new Changes(toUpdate(entity, replacement, fields), fields, expectedVersion(entity, version));
+    }
+
+    private static Update toUpdate(MongoPersistentEntity<?> entity, Object source, Set<String> fields) {
+        PersistentPropertyAccessor<?> accessor = entity.getPropertyAccessor(source);
+        Update update = new Update();
+        for (String field : fields) {
+            Object value = accessor.getProperty(entity.getRequiredPersistentProperty(field));
+            if (value == null) {
+                update.unset(field);
+            } else {
+                update.set(field, value);
+            }
+        }
+        return update;
+    }
+
+    private static String versionName(MongoPersistentEntity<?> entity) {
+        return entity.getRequiredVersionProperty().getName();
+    }
+
+    private static Long expectedVersion(MongoPersistentEntity<?> entity, Object version) {
+        if (version == null) {
+            return null;
+        }
+        if (version instanceof Number number && number.longValue() >= 0) {
+            return number.longValue();
+        }
+        throw new IllegalArgumentException("Field '" + versionName(entity) + "' must be a non-negative number");
+    }
+}
@@ -0,0 +1,46 @@
+package com.ochwada.healthcare_management.service;
+
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * *******************************************************
+ * Package: com.ochwada.healthcare_management.service
+ * File: IdBatches.java
+ * Author: Ochwada
+ * Date: Sunday, 18.Oct.2026, 3:15 AM
+ * Description: Checks the id lists of the batch lookups ({@code POST /patients/batch}, {@code POST /doctors/batch}).
+ * Objective: Bound the size of the {@code $in} query a single request can issue.
+ * *******************************************************
+ */
+final class IdBatches {
+
+    private IdBatches() {
+    }
+
+    /**
+     * @param ids    the ids sent by the client
+     * @param maxIds the most distinct ids one request may look up
+     * @return the distinct ids, in request order
+     * @throws IllegalArgumentException if the list is empty, too long or holds a blank id
+     */
+    static List<String> distinct(List<String> ids, int maxIds) {
+        if (ids == null || ids.isEmpty()) {
+            throw new IllegalArgumentException("At least one id is required");
+        }
+        Set<String> distinct = new LinkedHashSet<>();
+        for (String id : ids) {
+            if (id == null || id.isBlank()) {
+                throw new IllegalArgumentException("Ids must not be blank");
+            }
+            distinct.add(id);
+        }
+        if (distinct.size() > maxIds) {
+            throw new IllegalArgumentException("At most " + maxIds + " ids can be looked up at once, got "
+                    + distinct.size());
+        }
+        return List.copyOf(distinct);
+    }
+}
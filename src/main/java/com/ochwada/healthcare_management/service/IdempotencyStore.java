@@ -0,0 +1,205 @@
+package com.ochwada.healthcare_management.service;
+
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.ochwada.healthcare_management.model.IdempotencyKey;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+/**
+ * *******************************************************
+ * Package: com.ochwada.healthcare_management.service
+ * File: IdempotencyStore.java
+ * Author: Ochwada
+ * Date: Sunday, 18.Oct.2026, 1:45 AM
+ * Description: Remembers which {@code Idempotency-Key}s were used and the responses they produced.
+ * - MongoDB's "idempotency_keys" collection is the shared record: a key is claimed with one upsert that only
+ *   succeeds if the key is unknown or expired, so concurrent retries on different instances cannot both win.
+ * - Completed responses are also kept in a bounded in-memory cache, so retries reaching the instance that answered
+ *   the first request are replayed without a query. Each is kept until the {@code expiresAt} stored with it, never
+ *   longer than MongoDB keeps the key.
+ * Objective: Let clients retry POST requests after a timeout without creating duplicates.
+ * *******************************************************
+ */
+@Component
+public class IdempotencyStore {
+
+    private static final Logger log = LoggerFactory.getLogger(IdempotencyStore.class);
+
+    private final MongoTemplate mongoTemplate;
+    private final Duration retention;
+    private final Duration lease;
+    private final Cache<String, Cached> completed;
+
+    /**
+     * What a request carrying a key should do.
+     */
+    public enum Outcome {
+        /** First use of the key: process the request, then {@link #complete} or {@link #release} it. */
+        CLAIMED,
+        /** A retry of a completed request: answer with the stored response. */
+        REPLAY,
+        /** The first request with this key is still being processed. */
+        IN_PROGRESS,
+        /** The key was used for a request with another body. */
+        MISMATCH
+    }
+
+    /**
+     * A response kept for replay.
+     *
+     * @param requestHash the hash of the request body that produced it
+     * @param status      the HTTP status
+     * @param contentType the content type, or {@code null}
+     * @param body        the body
+     */
+    public record StoredResponse(String requestHash, int status, String contentType, byte[] body) {
+    }
+
+    /**
+     * The outcome of {@link #claim}; {@code response} is set for {@link Outcome#REPLAY}.
+     */
+    public record Claim(Outcome outcome, StoredResponse response) {
+    }
+
+    // A completed response and the end of its retention window, when it leaves the cache
+    private record Cached(StoredResponse response, Instant expiresAt) {
+    }
+
+    /**
+     * Constructor-based dependency injection  using @Autowired.
+     *
+     * @param mongoTemplate The template reading and writing "idempotency_keys"
+     * @param retention     How long a completed response is replayed
+     * @param lease         How long a claimed key stays in progress if its request never completes (e.g. a crash)
+     * @param cacheSize     The most completed responses kept in memory
+     */
+    @Autowired
+    public IdempotencyStore(MongoTemplate mongoTemplate,
+                            @Value("${healthcare.idempotency.retention:24h}") Duration retention,
+                            @Value("${healthcare.idempotency.lease:1m}") Duration lease,
+                            @Value("${healthcare.idempotency.cache.max-size:10000}") long cacheSize) {
+        this.mongoTemplate = mongoTemplate;
+        this.retention = retention;
+        this.lease = lease;
+        this.completed = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfter(Expiry.writing((String key, Cached cached) -> remaining(cached)))
+                .build();
+    }
+
+    /**
+     * 1.
+     * Claims a key for a request, or tells how the request must be answered instead.
+     *
+     * @param key         the key, scoped to the endpoint
+     * @param requestHash the hash of the request body
+     * @return the outcome, with the stored response to replay if any
+     */
+    public Claim claim(String key, String requestHash) {
+        Cached cached = completed.getIfPresent(key);
+        if (cached != null) {
+            return replayOrMismatch(cached.response(), requestHash);
+        }
+
+        Instant now = Instant.now();
+        // Matches only an expired key; if the key is unknown the upsert inserts it, if it is live the insert of the
+        // same _id fails with a duplicate key error.
+        Query unclaimed = Query.query(where("id").is(key).and("expiresAt").lt(now));
+        Update claim = new Update()
+                .set("requestHash", requestHash)
+                .set("completed", false)
+                .set("expiresAt", now.plus(lease))
+                .unset("status").unset("contentType").unset("body");
+        for (int attempt = 0; attempt < 2; attempt++) {
+            try {
+                mongoTemplate.findAndModify(unclaimed, claim,
+                        FindAndModifyOptions.options().upsert(true), IdempotencyKey.class);
+                return new Claim(Outcome.CLAIMED, null);
+            } catch (DuplicateKeyException e) {
+                IdempotencyKey existing = mongoTemplate.findById(key, IdempotencyKey.class);
+                if (existing == null) {
+                    continue; // expired and removed in between; claim it again
+                }
+                if (!existing.getRequestHash().equals(requestHash)) {
+                    return new Claim(Outcome.MISMATCH, null);
+                }
+                if (!existing.isCompleted()) {
+                    return new Claim(Outcome.IN_PROGRESS, null);
+                }
+                StoredResponse stored = new StoredResponse(existing.getRequestHash(), existing.getStatus(),
+                        existing.getContentType(), existing.getBody());
+                completed.put(key, new Cached(stored, existing.getExpiresAt()));
+                return new Claim(Outcome.REPLAY, stored);
+            }
+        }
+        return new Claim(Outcome.IN_PROGRESS, null);
+    }
+
+    /**
+     * 2.
+     * Stores the response of a claimed key for replay. A failure is logged only: the request itself succeeded,
+     * and the key is released by its lease.
+     *
+     * @param key      the claimed key
+     * @param response the response to replay
+     */
+    public void complete(String key, StoredResponse response) {
+        Instant expiresAt = Instant.now().plus(retention);
+        try {
+            mongoTemplate.updateFirst(
+                    Query.query(where("id").is(key).and("requestHash").is(response.requestHash())),
+                    new Update()
+                            .set("completed", true)
+                            .set("status", response.status())
+                            .set("contentType", response.contentType())
+                            .set("body", response.body())
+                            .set("expiresAt", expiresAt),
+                    IdempotencyKey.class);
+            completed.put(key, new Cached(response, expiresAt));
+        } catch (RuntimeException e) {
+            log.warn("Response for idempotency key '{}' was not stored: {}", key, e.getMessage());
+        }
+    }
+
+    /**
+     * 3.
+     * Gives up a claimed key whose request failed, so that a retry is processed again.
+     *
+     * @param key the claimed key
+     */
+    public void release(String key) {
+        try {
+            mongoTemplate.remove(Query.query(where("id").is(key).and("completed").is(false)), IdempotencyKey.class);
+        } catch (RuntimeException e) {
+            log.warn("Idempotency key '{}' was not released and stays in progress until its lease ends: {}",
+                    key, e.getMessage());
+        }
+    }
+
+    private static Duration remaining(Cached cached) {
+        Duration remaining = Duration.between(Instant.now(), cached.expiresAt());
+        return remaining.isNegative() ? Duration.ZERO : remaining;
+    }
+
+    private static Claim replayOrMismatch(StoredResponse stored, String requestHash) {
+        return stored.requestHash().equals(requestHash)
+                ? new Claim(Outcome.REPLAY, stored)
+                : new Claim(Outcome.MISMATCH, null);
+    }
+}
@@ -0,0 +1,140 @@
+package com.ochwada.healthcare_management.service;
+
+
+import com.ochwada.healthcare_management.model.MedicalRecord;
+import com.ochwada.healthcare_management.repository.MedicalRecordRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.mapping.event.AfterSaveEvent;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * *******************************************************
+ * Package: com.ochwada.healthcare_management.service
+ * File: InMemoryMedicalRecordSearch.java
+ * Author: Ochwada
+ * Date: Saturday, 17.Oct.2026, 8:35 PM
+ * Description: {@link MedicalRecordSearch} served by a {@link TextInvertedIndex} held in the application, for
+ * databases without text index support ({@code healthcare.search.mode=in-memory}).
+ * Objective:
+ * - The index is loaded from a cursor over all records once the application is ready, then kept current from
+ *   Spring Data's after-save events. Searches are refused (503) until the load has finished. A failed load is
+ *   retried on the task scheduler, waiting twice as long after each failure (up to {@code load-retry.max-delay}).
+ * - Matching and ranking happen in memory; only the records of the requested page are read from MongoDB, by id.
+ * - Each instance holds its own index, so records saved by other instances are only found after a restart.
+ * *******************************************************
+ */
+@Component
+@ConditionalOnProperty(name = "healthcare.search.mode", havingValue = "in-memory")
+public class InMemoryMedicalRecordSearch implements MedicalRecordSearch {
+
+    private static final Logger log = LoggerFactory.getLogger(InMemoryMedicalRecordSearch.class);
+
+    private final MedicalRecordRepository repository;
+    private final TextInvertedIndex index = new TextInvertedIndex();
+    private final TaskScheduler scheduler;
+    private final Duration initialRetryDelay;
+    private final Duration maxRetryDelay;
+    private volatile boolean loaded;
+
+    /**
+     * @param repository        the repository the records are loaded from and pages read by id
+     * @param scheduler         the scheduler running the retries of a failed load
+     * @param initialRetryDelay the wait before the first retry
+     * @param maxRetryDelay     the longest wait between retries
+     */
+    public InMemoryMedicalRecordSearch(MedicalRecordRepository repository,
+                                       TaskScheduler scheduler,
+                                       @Value("${healthcare.search.load-retry.initial-delay:1s}") Duration initialRetryDelay,
+                                       @Value("${healthcare.search.load-retry.max-delay:5m}") Duration maxRetryDelay) {
+        this.repository = repository;
+        this.scheduler = scheduler;
+        this.initialRetryDelay = initialRetryDelay;
+        this.maxRetryDelay = maxRetryDelay;
+    }
+
+    @Override
+    public List<MedicalRecord> search(String text, String patientID, LocalDate from, LocalDate to,
+                                      int offset, int limit) {
+        if (!loaded) {
+            throw new RejectedExecutionException("The medical record search index is still loading");
+        }
+        List<TextInvertedIndex.Hit> hits = index.search(text, patientID, from, to, offset + limit);
+        if (hits.size() <= offset) {
+            return List.of();
+        }
+        hits = hits.subList(offset, hits.size());
+
+        List<String> ids = hits.stream().map(TextInvertedIndex.Hit::id).toList();
+        Map<String, MedicalRecord> records = repository.findAllById(ids).stream()
+                .collect(Collectors.toMap(MedicalRecord::getId, Function.identity()));
+        List<MedicalRecord> page = new ArrayList<>(hits.size());
+        for (TextInvertedIndex.Hit hit : hits) {
+            MedicalRecord record = records.get(hit.id());
+            if (record != null) {
+                record.setScore(hit.score());
+                page.add(record);
+            }
+        }
+        return page;
+    }
+
+    /**
+     * Loads every stored record into the index, off the main thread.
+     */
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        load(initialRetryDelay);
+    }
+
+    /**
+     * Loads the index, or schedules another attempt after {@code retryDelay}. Records already indexed by a failed
+     * attempt are replaced by the next one.
+     */
+    void load(Duration retryDelay) {
+        try (Stream<MedicalRecord> records = repository.streamRecords(null, null, null)) {
+            records.forEach(this::add);
+            loaded = true;
+            log.info("Medical record search index loaded with {} records", index.size());
+        } catch (RuntimeException e) {
+            log.warn("Medical record search index could not be loaded, retrying in {}: {}", retryDelay, e.getMessage());
+            Duration nextDelay = retryDelay.multipliedBy(2).compareTo(maxRetryDelay) > 0
+                    ? maxRetryDelay
+                    : retryDelay.multipliedBy(2);
+            scheduler.schedule(() -> load(nextDelay), Instant.now().plus(retryDelay));
+        }
+    }
+
+    /**
+     * Indexes every medical record saved through the repository or MongoTemplate.
+     *
+     * @param event an after-save event; only those of medical records are used
+     */
+    @EventListener
+    public void onAfterSave(AfterSaveEvent<?> event) {
+        if (event.getSource() instanceof MedicalRecord record) {
+            add(record);
+        }
+    }
+
+    private void add(MedicalRecord record) {
+        index.add(record.getId(), record.getPatientID(), record.getCreatedOn(),
+                record.getDiagnosis(), record.getTreatment());
+    }
+}
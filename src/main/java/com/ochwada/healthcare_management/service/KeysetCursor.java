@@ -0,0 +1,72 @@
+package com.ochwada.healthcare_management.service;
+
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * *******************************************************
+ * Package: com.ochwada.healthcare_management.service
+ * File: KeysetCursor.java
+ * Author: Ochwada
+ * Date: Saturday, 17.Oct.2026, 9:14 AM
+ * Description: Encodes and decodes the opaque cursors used for keyset pagination.
+ * Objective: Keep the cursor format in one place so clients never depend on what is inside it.
+ * *******************************************************
+ */
+public final class KeysetCursor {
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private KeysetCursor() {
+    }
+
+    /**
+     * Encodes the key of the last document of a slice into an opaque cursor.
+     *
+     * @param key the key (e.g. the document id) to resume after
+     * @return URL-safe cursor string
+     */
+    public static String encode(String key) {
+        return ENCODER.encodeToString(key.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a cursor previously produced by {@link #encode(String)}.
+     *
+     * @param cursor the cursor sent back by the client
+     * @return the key to resume after
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    public static String decode(String cursor) {
+        try {
+            String key = new String(DECODER.decode(cursor), StandardCharsets.UTF_8);
+            if (key.isBlank()) {
+                throw new IllegalArgumentException("Invalid cursor: " + cursor);
+            }
+            return key;
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+    }
+
+    /**
+     * Resolves the page size for a request, falling back to the default and capping at the maximum.
+     *
+     * @param requested    the limit asked for by the client, or {@code null}
+     * @param defaultLimit the limit used when none is given
+     * @param maxLimit     the largest limit allowed
+     * @return a page size between 1 and {@code maxLimit}
+     * @throws IllegalArgumentException if the requested limit is not positive
+     */
+    public static int limit(Integer requested, int defaultLimit, int maxLimit) {
+        if (requested == null) {
+            return Math.min(defaultLimit, maxLimit);
+        }
+        if (requested < 1) {
+            throw new IllegalArgumentException("Limit must be positive: " + requested);
+        }
+        return Math.min(requested, maxLimit);
+    }
+}
@@ -0,0 +1,36 @@
+package com.ochwada.healthcare_management.service;
+
+
+import com.ochwada.healthcare_management.model.MedicalRecord;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * *******************************************************
+ * Package: com.ochwada.healthcare_management.service
+ * File: MedicalRecordSearch.java
+ * Author: Ochwada
+ * Date: Saturday, 17.Oct.2026, 8:10 PM
+ * Description: Relevance-ranked full-text search over the diagnosis and treatment of medical records.
+ * Objective: One implementation is active, chosen with {@code healthcare.search.mode}:
+ * - {@code text} (default): MongoDB's text index ({@link MongoTextMedicalRecordSearch}).
+ * - {@code in-memory}: an inverted index held by the application, for deployments whose database has no text
+ *   index support ({@link InMemoryMedicalRecordSearch}).
+ * *******************************************************
+ */
+public interface MedicalRecordSearch {
+
+    /**
+     * Finds the records matching any word of the search text, best match first.
+     *
+     * @param text      the search text
+     * @param patientID only records of this patient, or {@code null}
+     * @param from      only records created on or after this date, or {@code null}
+     * @param to        only records created on or before this date, or {@code null}
+     * @param offset    number of best matches to skip
+     * @param limit     the maximum number of records returned
+     * @return the matching records by descending relevance, each with its {@link MedicalRecord#getScore() score}
+     */
+    List<MedicalRecord> search(String text, String patientID, LocalDate from, LocalDate to, int offset, int limit);
+}
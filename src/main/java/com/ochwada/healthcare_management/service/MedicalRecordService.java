@@ -1,12 +1,18 @@
 package com.ochwada.healthcare_management.service;
 
 
+import com.ochwada.healthcare_management.dto.CursorPage;
 import com.ochwada.healthcare_management.model.MedicalRecord;
 import com.ochwada.healthcare_management.repository.MedicalRecordRepository;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * *******************************************************
@@ -20,19 +26,42 @@ import java.util.List;
  */
 
 @Service
+@Timed("healthcare.service")
 public class MedicalRecordService {
     // Dependency  on the repository layer to perform CRUD operations on the Medical Records document
     private final MedicalRecordRepository repository;
 
+    // Full-text search, backed by MongoDB's text index or an in-memory index (healthcare.search.mode)
+    private final MedicalRecordSearch search;
+
+    // How deep a client may page into search results
+    private final int maxSearchResults;
+
+    // Page size used when the client does not ask for one, and the largest page size it may ask for
+    private final int defaultPageSize;
+    private final int maxPageSize;
+
     /**
      * Constructor-based dependency injection  using @Autowired. (constructor injection of repository)
      * Spring injects ('introduces') an instance of MedicalRecordRepository at runtime.
      *
-     * @param repository The repository used to access MedicalRecord data from MongoDB
+     * @param repository      The repository used to access MedicalRecord data from MongoDB
+     * @param search          The full-text search over diagnosis and treatment
+     * @param defaultPageSize Page size used when the client does not specify one
+     * @param maxPageSize     Upper bound on the page size a client may request
+     * @param maxSearchResults Number of best search matches a client may page through
      */
     @Autowired
-    public MedicalRecordService(MedicalRecordRepository repository) {
+    public MedicalRecordService(MedicalRecordRepository repository,
+                                MedicalRecordSearch search,
+                                @Value("${healthcare.paging.default-size:50}") int defaultPageSize,
+                                @Value("${healthcare.paging.max-size:500}") int maxPageSize,
+                                @Value("${healthcare.search.max-results:1000}") int maxSearchResults) {
         this.repository = repository;
+        this.search = search;
+        this.maxSearchResults = maxSearchResults;
+        this.defaultPageSize = defaultPageSize;
+        this.maxPageSize = maxPageSize;
     }
     /**
      * ---------------------------------------------------------------------------
@@ -40,6 +69,10 @@ public class MedicalRecordService {
      * Business methods like
      * - addMedicalRecordRepository(),
      * - getAllMedicalRecordRepositoryForPatient(),
+     * - streamMedicalRecords(),
+     * - getLatestMedicalRecords(),
+     * - getPatientHistory(),
+     * - searchMedicalRecords()
      * --------------------------------------------------------------
      * ---------------------------------------------------------------------------
      */
@@ -64,5 +97,142 @@ public class MedicalRecordService {
         return repository.findAll();
     }
 
+    /**
+     * 3.
+     * Streams medical records straight from a MongoDB cursor, optionally filtered on the server.
+     * *
+     * Unlike {@link #getAllMedicalRecords()} nothing is materialized: each record is read from the cursor only when
+     * the consumer asks for it. The returned stream must be closed by the caller to release the cursor.
+     *
+     * @param patientID only records of this patient, or {@code null} for all patients
+     * @param from      only records created on or after this date, or {@code null}
+     * @param to        only records created on or before this date, or {@code null}
+     * @return a cursor-backed {@link Stream} of {@link MedicalRecord} objects
+     * @throws IllegalArgumentException if {@code from} is after {@code to}
+     */
+    public Stream<MedicalRecord> streamMedicalRecords(String patientID, LocalDate from, LocalDate to) {
+        validateDateRange(from, to);
+        return repository.streamRecords(patientID, from, to);
+    }
 
+    /**
+     * 3b.
+     * Checks the date range of a query, e.g. before a response streaming {@link #streamMedicalRecords} is started.
+     *
+     * @param from the first day, or {@code null}
+     * @param to   the last day, or {@code null}
+     * @throws IllegalArgumentException if {@code from} is after {@code to}
+     */
+    public void validateDateRange(LocalDate from, LocalDate to) {
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new IllegalArgumentException("'from' must not be after 'to'");
+        }
+    }
+
+    /**
+     * 4.
+     * Retrieves the most recent medical records of a patient.
+     *
+     * @param patientID the patient
+     * @param n         how many records to return, or {@code null} for the default page size (capped at the maximum)
+     * @return up to {@code n} records, newest first
+     * @throws IllegalArgumentException if {@code n} is not positive
+     */
+    public List<MedicalRecord> getLatestMedicalRecords(String patientID, Integer n) {
+        int size = KeysetCursor.limit(n, defaultPageSize, maxPageSize);
+        return repository.findPatientHistory(patientID, null, null, null, null, size);
+    }
+
+    /**
+     * 5.
+     * Retrieves one page of a patient's medical history, newest first, optionally within a date range.
+     * *
+     * Pages are keyed on the (createdOn, id) of the last record returned, so each page is a single bounded index
+     * scan no matter how deep the client has paged.
+     *
+     * @param patientID the patient
+     * @param from      only records created on or after this date, or {@code null}
+     * @param to        only records created on or before this date, or {@code null}
+     * @param cursor    the {@code next} cursor of the previous page, or {@code null} for the first page
+     * @param limit     the requested page size, or {@code null} for the default
+     * @return a {@link CursorPage} of records with the cursor of the following page, if any
+     * @throws IllegalArgumentException if the range, cursor or limit is invalid
+     */
+    public CursorPage<MedicalRecord> getPatientHistory(String patientID, LocalDate from, LocalDate to,
+                                                       String cursor, Integer limit) {
+        validateDateRange(from, to);
+        int size = KeysetCursor.limit(limit, defaultPageSize, maxPageSize);
+
+        LocalDate afterCreatedOn = null;
+        String afterId = null;
+        if (cursor != null && !cursor.isBlank()) {
+            String key = KeysetCursor.decode(cursor);
+            int separator = key.indexOf('|');
+            try {
+                afterCreatedOn = LocalDate.parse(key.substring(0, Math.max(separator, 0)));
+            } catch (DateTimeParseException e) {
+                throw new IllegalArgumentException("Invalid cursor: " + cursor);
+            }
+            afterId = key.substring(separator + 1);
+        }
+
+        // One extra row tells whether another page follows
+        List<MedicalRecord> rows = repository.findPatientHistory(patientID, from, to, afterCreatedOn, afterId, size + 1);
+        if (rows.size() <= size) {
+            return CursorPage.of(rows, null);
+        }
+        List<MedicalRecord> content = rows.subList(0, size);
+        MedicalRecord last = content.get(size - 1);
+        return CursorPage.of(content, KeysetCursor.encode(last.getCreatedOn() + "|" + last.getId()));
+    }
+
+    /**
+     * 6.
+     * Searches the diagnosis and treatment of medical records, best match first, one page at a time.
+     * *
+     * Relevance ordering leaves no stable key to resume after, so the cursor carries the number of matches already
+     * returned; paging stops after {@code healthcare.search.max-results} matches, which bounds the work of a deep
+     * page (MongoDB keeps only the best offset + limit matches while sorting by score).
+     *
+     * @param text      the search text, e.g. symptoms or drug names
+     * @param patientID only records of this patient, or {@code null}
+     * @param from      only records created on or after this date, or {@code null}
+     * @param to        only records created on or before this date, or {@code null}
+     * @param cursor    the {@code next} cursor of the previous page, or {@code null} for the first page
+     * @param limit     the requested page size, or {@code null} for the default
+     * @return a {@link CursorPage} of scored records with the cursor of the following page, if any
+     * @throws IllegalArgumentException if the text is blank or the range, cursor or limit is invalid
+     */
+    public CursorPage<MedicalRecord> searchMedicalRecords(String text, String patientID, LocalDate from, LocalDate to,
+                                                          String cursor, Integer limit) {
+        if (text == null || text.isBlank()) {
+            throw new IllegalArgumentException("Search text is required");
+        }
+        validateDateRange(from, to);
+        int size = KeysetCursor.limit(limit, defaultPageSize, maxPageSize);
+        int offset = 0;
+        if (cursor != null && !cursor.isBlank()) {
+            try {
+                offset = Integer.parseInt(KeysetCursor.decode(cursor));
+            } catch (NumberFormatException e) {
+                offset = -1;
+            }
+            if (offset < 0) {
+                throw new IllegalArgumentException("Invalid cursor: " + cursor);
+            }
+        }
+        size = Math.min(size, maxSearchResults - offset);
+        if (size <= 0) {
+            return CursorPage.of(List.of(), null);
+        }
+
+        // One extra row tells whether another page follows
+        List<MedicalRecord> rows = search.search(text, patientID, from, to, offset, size + 1);
+        if (rows.size() <= size) {
+            return CursorPage.of(rows, null);
+        }
+        int next = offset + size;
+        return CursorPage.of(rows.subList(0, size),
+                next < maxSearchResults ? KeysetCursor.encode(Integer.toString(next)) : null);
+    }
 }
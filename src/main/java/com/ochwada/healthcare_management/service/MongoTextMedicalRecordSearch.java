@@ -0,0 +1,65 @@
+package com.ochwada.healthcare_management.service;
+
+
+import com.ochwada.healthcare_management.model.MedicalRecord;
+import com.ochwada.healthcare_management.repository.MedicalRecordRepository;
+import com.mongodb.MongoException;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * *******************************************************
+ * Package: com.ochwada.healthcare_management.service
+ * File: MongoTextMedicalRecordSearch.java
+ * Author: Ochwada
+ * Date: Saturday, 17.Oct.2026, 8:12 PM
+ * Description: {@link MedicalRecordSearch} served by MongoDB's text index over diagnosis and treatment.
+ * Objective: Matching, stemming and scoring happen in the database; only the requested page is transferred.
+ * - The text index is created by MongoIndexInitializer after start-up; until it exists, searches are refused with
+ *   503 instead of failing with MongoDB's "text index required" error.
+ * *******************************************************
+ */
+@Component
+@ConditionalOnProperty(name = "healthcare.search.mode", havingValue = "text", matchIfMissing = true)
+public class MongoTextMedicalRecordSearch implements MedicalRecordSearch {
+
+    // MongoDB's IndexNotFound error, raised by a $text query on a collection without a text index
+    private static final int INDEX_NOT_FOUND = 27;
+
+    private final MedicalRecordRepository repository;
+
+    public MongoTextMedicalRecordSearch(MedicalRecordRepository repository) {
+        this.repository = repository;
+    }
+
+    @Override
+    public List<MedicalRecord> search(String text, String patientID, LocalDate from, LocalDate to,
+                                      int offset, int limit) {
+        try {
+            return repository.searchText(text, patientID, from, to, offset, limit);
+        } catch (DataAccessException e) {
+            if (isMissingTextIndex(e)) {
+                throw new RejectedExecutionException("The medical record text index is still being built");
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * @return whether MongoDB refused the query because the collection has no text index (IndexNotFound)
+     */
+    static boolean isMissingTextIndex(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof MongoException mongo && (mongo.getCode() == INDEX_NOT_FOUND
+                    || String.valueOf(mongo.getMessage()).contains("text index required"))) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
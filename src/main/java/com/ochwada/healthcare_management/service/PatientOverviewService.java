@@ -0,0 +1,213 @@
+package com.ochwada.healthcare_management.service;
+
+
+import com.mongodb.MongoExecutionTimeoutException;
+import com.ochwada.healthcare_management.dto.PatientOverview;
+import com.ochwada.healthcare_management.model.Appointment;
+import com.ochwada.healthcare_management.model.MedicalRecord;
+import com.ochwada.healthcare_management.model.Patient;
+import com.ochwada.healthcare_management.repository.AppointmentRepository;
+import com.ochwada.healthcare_management.repository.MedicalRecordRepository;
+import com.ochwada.healthcare_management.repository.PatientRepository;
+import io.micrometer.core.annotation.Timed;
+import jakarta.annotation.PreDestroy;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.*;
+
+/**
+ * *******************************************************
+ * Package: com.ochwada.healthcare_management.service
+ * File: PatientOverviewService.java
+ * Author: Ochwada
+ * Date: Saturday, 17.Oct.2026, 9:10 PM
+ * Description: Builds a patient's chart (the patient, latest appointments and latest medical records) in the time of
+ * its slowest part rather than the sum of all parts. {@code healthcare.overview.mode} selects how:
+ * - {@code parallel} (default): the three indexed queries run concurrently on virtual threads.
+ * - {@code lookup}: one aggregation on "patients" with two {@code $lookup} sub-pipelines (MongoDB 5.0+), i.e. one
+ *   round trip, the fan-out happening inside the database.
+ * Objective: Both modes are bounded by {@code healthcare.overview.timeout}; when it expires the outstanding work is
+ * cancelled and a {@link QueryTimeoutException} (504) is raised.
+ * *******************************************************
+ */
+@Service
+@Timed("healthcare.service")
+public class PatientOverviewService {
+
+    private final PatientRepository patientRepository;
+    private final AppointmentRepository appointmentRepository;
+    private final MedicalRecordRepository medicalRecordRepository;
+    private final MongoTemplate mongoTemplate;
+
+    // Overview strategy, time budget and section sizes
+    private final boolean lookup;
+    private final Duration timeout;
+    private final int defaultSectionSize;
+    private final int maxSectionSize;
+
+    // One virtual thread per query; blocking on MongoDB costs no platform thread
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    /**
+     * Constructor-based dependency injection  using @Autowired.
+     *
+     * @param patientRepository       The repository the patient is read from
+     * @param appointmentRepository   The repository the latest appointments are read from
+     * @param medicalRecordRepository The repository the latest medical records are read from
+     * @param mongoTemplate           The template running the {@code $lookup} aggregation
+     * @param mode                    {@code parallel} or {@code lookup}
+     * @param timeout                 Time budget of one overview
+     * @param defaultSectionSize      Appointments and records returned when the client does not say
+     * @param maxSectionSize          The most appointments or records a client may ask for
+     */
+    @Autowired
+    public PatientOverviewService(PatientRepository patientRepository,
+                                  AppointmentRepository appointmentRepository,
+                                  MedicalRecordRepository medicalRecordRepository,
+                                  MongoTemplate mongoTemplate,
+                                  @Value("${healthcare.overview.mode:parallel}") String mode,
+                                  @Value("${healthcare.overview.timeout:2s}") Duration timeout,
+                                  @Value("${healthcare.overview.section-size:10}") int defaultSectionSize,
+                                  @Value("${healthcare.overview.max-section-size:100}") int maxSectionSize) {
+        if (!mode.equals("parallel") && !mode.equals("lookup")) {
+            throw new IllegalArgumentException("healthcare.overview.mode must be 'parallel' or 'lookup': " + mode);
+        }
+        this.patientRepository = patientRepository;
+        this.appointmentRepository = appointmentRepository;
+        this.medicalRecordRepository = medicalRecordRepository;
+        this.mongoTemplate = mongoTemplate;
+        this.lookup = mode.equals("lookup");
+        this.timeout = timeout;
+        this.defaultSectionSize = defaultSectionSize;
+        this.maxSectionSize = maxSectionSize;
+    }
+
+    /**
+     * 1.
+     * Builds the overview of a patient.
+     *
+     * @param patientId    the patient
+     * @param appointments how many of the latest appointments to include, or {@code null} for the default
+     * @param records      how many of the latest medical records to include, or {@code null} for the default
+     * @return the overview, or empty if there is no such patient
+     * @throws IllegalArgumentException if a section size is not positive
+     * @throws QueryTimeoutException    if the overview is not complete within the configured timeout
+     */
+    public Optional<PatientOverview> getOverview(String patientId, Integer appointments, Integer records) {
+        int appointmentLimit = KeysetCursor.limit(appointments, defaultSectionSize, maxSectionSize);
+        int recordLimit = KeysetCursor.limit(records, defaultSectionSize, maxSectionSize);
+        return lookup
+                ? overviewByLookup(patientId, appointmentLimit, recordLimit)
+                : overviewInParallel(patientId, appointmentLimit, recordLimit);
+    }
+
+    /**
+     * 2.
+     * Runs the three queries concurrently and waits for all of them within one deadline.
+     */
+    private Optional<PatientOverview> overviewInParallel(String patientId, int appointmentLimit, int recordLimit) {
+        Future<Optional<Patient>> patient = executor.submit(() -> patientRepository.findById(patientId));
+        Future<List<Appointment>> appointments = executor.submit(() ->
+                appointmentRepository.findByPatientIdOrderByDateDesc(patientId, Limit.of(appointmentLimit)));
+        Future<List<MedicalRecord>> records = executor.submit(() ->
+                medicalRecordRepository.findPatientHistory(patientId, null, null, null, null, recordLimit));
+
+        long deadline = System.nanoTime() + timeout.toNanos();
+        try {
+            Optional<Patient> found = await(patient, deadline);
+            if (found.isEmpty()) {
+                appointments.cancel(true);
+                records.cancel(true);
+                return Optional.empty();
+            }
+            return Optional.of(new PatientOverview(found.get(),
+                    await(appointments, deadline),
+                    await(records, deadline)));
+        } catch (RuntimeException e) {
+            patient.cancel(true);
+            appointments.cancel(true);
+            records.cancel(true);
+            throw e;
+        }
+    }
+
+    private <T> T await(Future<T> future, long deadline) {
+        try {
+            return future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            throw new QueryTimeoutException("Patient overview did not complete within " + timeout.toMillis() + " ms");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new QueryTimeoutException("Patient overview was interrupted");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    /**
+     * 3.
+     * Reads the patient with its latest appointments and records in one aggregation. Each {@code $lookup} joins on
+     * the patient id (as a string) and sorts and limits inside its sub-pipeline, using the same indexes as the
+     * parallel queries.
+     */
+    private Optional<PatientOverview> overviewByLookup(String patientId, int appointmentLimit, int recordLimit) {
+        List<Document> pipeline = List.of(
+                new Document("$match", new Document("_id",
+                        ObjectId.isValid(patientId) ? new ObjectId(patientId) : patientId)),
+                new Document("$addFields", new Document("patientKey", new Document("$toString", "$_id"))),
+                new Document("$lookup", new Document("from", mongoTemplate.getCollectionName(Appointment.class))
+                        .append("localField", "patientKey")
+                        .append("foreignField", "patientId")
+                        .append("pipeline", List.of(
+                                new Document("$sort", new Document("date", -1)),
+                                new Document("$limit", appointmentLimit)))
+                        .append("as", "appointments")),
+                new Document("$lookup", new Document("from", mongoTemplate.getCollectionName(MedicalRecord.class))
+                        .append("localField", "patientKey")
+                        .append("foreignField", "patientID")
+                        .append("pipeline", List.of(
+                                new Document("$sort", new Document("createdOn", -1).append("_id", -1)),
+                                new Document("$limit", recordLimit)))
+                        .append("as", "medicalRecords")));
+
+        Document result;
+        try {
+            result = mongoTemplate.getCollection(mongoTemplate.getCollectionName(Patient.class))
+                    .aggregate(pipeline)
+                    .maxTime(timeout.toMillis(), TimeUnit.MILLISECONDS)
+                    .first();
+        } catch (MongoExecutionTimeoutException e) {
+            throw new QueryTimeoutException("Patient overview did not complete within " + timeout.toMillis() + " ms");
+        }
+        if (result == null) {
+            return Optional.empty();
+        }
+
+        List<Appointment> appointments = result.getList("appointments", Document.class).stream()
+                .map(document -> mongoTemplate.getConverter().read(Appointment.class, document))
+                .toList();
+        List<MedicalRecord> records = result.getList("medicalRecords", Document.class).stream()
+                .map(document -> mongoTemplate.getConverter().read(MedicalRecord.class, document))
+                .toList();
+        Patient patient = mongoTemplate.getConverter().read(Patient.class, result);
+        return Optional.of(new PatientOverview(patient, appointments, records));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+}
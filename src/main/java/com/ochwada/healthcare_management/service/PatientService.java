@@ -1,10 +1,19 @@
 package com.ochwada.healthcare_management.service;
 
 
+import com.ochwada.healthcare_management.dto.BatchLookup;
+import com.ochwada.healthcare_management.dto.CursorPage;
+import com.ochwada.healthcare_management.dto.PatientSummary;
 import com.ochwada.healthcare_management.model.Gender;
 import com.ochwada.healthcare_management.model.Patient;
 import com.ochwada.healthcare_management.repository.PatientRepository;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 
 import java.util.*;
@@ -21,19 +30,46 @@ import java.util.*;
  */
 
 @Service
+@Timed("healthcare.service")
 public class PatientService {
     // Dependency on the repository layer to perform CRUD operations on Patient documents
     private final PatientRepository repository;
 
+    // Builds the $set/$unset updates of PUT and PATCH, and the change counters those updates must bump
+    private final FieldUpdates fieldUpdates;
+    private final CollectionVersions collectionVersions;
+
+    // Page size used when the client does not ask for one, and the largest page size it may ask for
+    private final int defaultPageSize;
+    private final int maxPageSize;
+
+    // The most ids one batch lookup may carry
+    private final int maxBatchIds;
+
     /**
      * Constructor-based dependency injection  using @Autowired. (constructor injection of repository)
      * Spring injects ('introduces') an instance of PatientRepository at runtime.
      *
-     * @param repository The repository used to access Patient data from MongoDB
+     * @param repository         The repository used to access Patient data from MongoDB
+     * @param fieldUpdates       Translates replacements and patches into targeted updates
+     * @param collectionVersions The per-collection change counters behind the collection ETags
+     * @param defaultPageSize    Page size used when the client does not specify one
+     * @param maxPageSize        Upper bound on the page size a client may request
+     * @param maxBatchIds        Upper bound on the ids of one batch lookup
      */
     @Autowired
-    public PatientService(PatientRepository repository) {
+    public PatientService(PatientRepository repository,
+                          FieldUpdates fieldUpdates,
+                          CollectionVersions collectionVersions,
+                          @Value("${healthcare.paging.default-size:50}") int defaultPageSize,
+                          @Value("${healthcare.paging.max-size:500}") int maxPageSize,
+                          @Value("${healthcare.lookup.max-ids:500}") int maxBatchIds) {
         this.repository = repository;
+        this.fieldUpdates = fieldUpdates;
+        this.collectionVersions = collectionVersions;
+        this.defaultPageSize = defaultPageSize;
+        this.maxPageSize = maxPageSize;
+        this.maxBatchIds = maxBatchIds;
     }
 
     /**
@@ -41,9 +77,11 @@ public class PatientService {
      * --------------------------------------------------------------
      * Business methods like
      * - addPatient(),
-     * - getAllPatients(),
+     * - findPatients(),
      * - getPatientById(),
+     * - findPatientsByIds(),
      * - updatePatient(),
+     * - patchPatient(),
      * - deletePatient()
      * --------------------------------------------------------------
      * ---------------------------------------------------------------------------
@@ -62,12 +100,26 @@ public class PatientService {
 
     /**
      * 2.
-     * Retrieve all Patients from the MongoDB database
+     * Retrieve one slice of Patients from the MongoDB database, ordered by id.
+     * *
+     * Uses keyset pagination: the next slice starts strictly after the last id of the previous one, so every
+     * slice is an index range scan on {@code _id} no matter how deep the client pages.
      *
-     * @return a List of all Patient objects stored in the database.
+     * @param cursor opaque cursor returned with the previous slice, or {@code null} for the first slice
+     * @param limit  requested page size, or {@code null} for the default; capped at the configured maximum
+     * @return a {@link CursorPage} of Patients with the cursor for the next slice
      */
-    public List<Patient> findAllPatients() {
-        return repository.findAll();
+    public CursorPage<Patient> findPatients(String cursor, Integer limit) {
+        Pageable page = PageRequest.of(0, KeysetCursor.limit(limit, defaultPageSize, maxPageSize),
+                Sort.by(Sort.Direction.ASC, "id"));
+
+        Slice<Patient> slice = (cursor == null || cursor.isBlank())
+                ? repository.findAllBy(page)
+                : repository.findByIdGreaterThan(KeysetCursor.decode(cursor), page);
+
+        List<Patient> content = slice.getContent();
+        String next = slice.hasNext() ? KeysetCursor.encode(content.get(content.size() - 1).getId()) : null;
+        return CursorPage.of(content, next);
     }
 
     /**
@@ -80,17 +132,59 @@ public class PatientService {
         return repository.findById(id);
     }
 
+    /**
+     * 3b.
+     * Retrieve many Patients by id with one {@code $in} query, e.g. to show the names of an appointment list.
+     *
+     * @param ids the ids to look up; duplicates are looked up once
+     * @return the Patients found, keyed by id, and the ids without a Patient
+     * @throws IllegalArgumentException if no ids, a blank id or more than {@code healthcare.lookup.max-ids} are given
+     */
+    public BatchLookup<Patient> findPatientsByIds(List<String> ids) {
+        List<String> wanted = IdBatches.distinct(ids, maxBatchIds);
+        Map<String, Patient> found = new HashMap<>();
+        repository.findAllById(wanted).forEach(patient -> found.put(patient.getId(), patient));
+        return BatchLookup.of(wanted, found);
+    }
+
     /**
      * 4.
      * Updates an existing Patient with the given ID using the provided updated data.
+     * *
+     * Every field is replaced in a single {@code $set}/{@code $unset} update; when the data carries a version, the
+     * update only applies if the stored patient still has that version.
      *
      * @param id            The unique identifier of the Patient to be updated.
-     * @param updatePatient The updated Patient data. The ID will be set to match the given ID.
-     * @return The updated {@link Patient} saved in the database.
+     * @param updatePatient The updated Patient data. Its ID is ignored.
+     * @return The updated {@link Patient}, or empty if there is no patient with this ID.
+     * @throws org.springframework.dao.OptimisticLockingFailureException if the patient has another version
      */
-    public Patient updatePatient(String id, Patient updatePatient) {
-        updatePatient.setId(id);
-        return repository.save(updatePatient);
+    public Optional<Patient> updatePatient(String id, Patient updatePatient) {
+        return update(id, fieldUpdates.fromReplacement(updatePatient));
+    }
+
+    /**
+     * 4b.
+     * Changes only the given fields of an existing Patient.
+     * *
+     * The body is a JSON merge patch: named fields are set, {@code null} removes an optional field, and an
+     * optional {@code version} makes the update conditional on the version the client last read.
+     * <p>Example: PATCH /patients/update-{id} {"phoneNumber": "+254700000000", "version": 3}</p>
+     *
+     * @param id      The unique identifier of the Patient to be updated.
+     * @param changes Field name to new value.
+     * @return The updated {@link Patient}, or empty if there is no patient with this ID.
+     * @throws IllegalArgumentException if a field is unknown, read-only or invalid
+     * @throws org.springframework.dao.OptimisticLockingFailureException if the patient has another version
+     */
+    public Optional<Patient> patchPatient(String id, Map<String, Object> changes) {
+        return update(id, fieldUpdates.fromPatch(Patient.class, changes));
+    }
+
+    private Optional<Patient> update(String id, FieldUpdates.Changes changes) {
+        Optional<Patient> updated = repository.updateFields(id, changes.expectedVersion(), changes.update());
+        updated.ifPresent(patient -> collectionVersions.bump("patients"));
+        return updated;
     }
 
     /**
@@ -140,5 +234,33 @@ public class PatientService {
         return repository.findPatientsByGender(gender);
     }
 
+    /**
+     * 8.
+     * Retrieves one page of patient summaries, optionally filtered by age and gender.
+     * <p>
+     * Only the summary fields are read from MongoDB (field projection), so contact details are neither transferred,
+     * decoded nor serialized. Pages are keyed on the patient id like {@link #findPatients(String, Integer)}.
+     * </p>
+     *
+     * @param olderThan only patients older than this age, or {@code null}
+     * @param gender    only patients of this gender, or {@code null}
+     * @param cursor    opaque cursor returned with the previous page, or {@code null} for the first page
+     * @param limit     requested page size, or {@code null} for the default; capped at the configured maximum
+     * @return a {@link CursorPage} of {@link PatientSummary} objects
+     */
+    public CursorPage<PatientSummary> getPatientSummaries(Integer olderThan, Gender gender, String cursor,
+                                                          Integer limit) {
+        int size = KeysetCursor.limit(limit, defaultPageSize, maxPageSize);
+        String afterId = (cursor == null || cursor.isBlank()) ? null : KeysetCursor.decode(cursor);
+
+        // One extra row tells whether another page follows
+        List<PatientSummary> rows = repository.findSummaries(olderThan, gender, afterId, size + 1);
+        if (rows.size() <= size) {
+            return CursorPage.of(rows, null);
+        }
+        List<PatientSummary> content = rows.subList(0, size);
+        return CursorPage.of(content, KeysetCursor.encode(content.get(size - 1).id()));
+    }
+
 
 }
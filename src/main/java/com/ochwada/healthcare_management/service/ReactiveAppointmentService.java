@@ -0,0 +1,92 @@
+package com.ochwada.healthcare_management.service;
+
+
+import com.ochwada.healthcare_management.model.Appointment;
+import com.ochwada.healthcare_management.repository.ReactiveAppointmentRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+
+import java.time.LocalDate;
+
+/**
+ * *******************************************************
+ * Package: com.ochwada.healthcare_management.service
+ * File: ReactiveAppointmentService.java
+ * Author: Ochwada
+ * Date: Saturday, 17.Oct.2026, 1:40 PM
+ * Description: Reactive read path for Appointments, active with the "reactive" profile. Queries return
+ * {@link Flux} streams, so no request thread waits for the MongoDB round trip.
+ * Objective:
+ * - Mirrors the read methods of {@link AppointmentService} with the same queries.
+ * - Bounds queries in flight and the demand each one places on its cursor.
+ * *******************************************************
+ */
+@Service
+@Profile("reactive")
+public class ReactiveAppointmentService {
+
+    // Dependency on the reactive repository for non-blocking reads of the Appointment document
+    private final ReactiveAppointmentRepository repository;
+
+    // Bounds the number of queries in flight; excess ones queue without holding a thread
+    private final ReactiveConcurrencyLimiter limiter;
+
+    // Number of documents requested from a cursor ahead of the client consuming them
+    private final int prefetch;
+
+    /**
+     * Constructor-based dependency injection  using @Autowired.
+     *
+     * @param repository    The reactive repository used to access Appointment data from MongoDB
+     * @param maxConcurrent Maximum number of queries running at once
+     * @param maxQueued     Maximum number of queries waiting for a slot before new ones are rejected
+     * @param prefetch      Number of documents requested from the cursor ahead of the client
+     */
+    @Autowired
+    public ReactiveAppointmentService(ReactiveAppointmentRepository repository,
+                                      @Value("${healthcare.reactive.max-concurrent-queries:64}") int maxConcurrent,
+                                      @Value("${healthcare.reactive.max-queued-queries:1024}") int maxQueued,
+                                      @Value("${healthcare.reactive.prefetch:256}") int prefetch) {
+        this.repository = repository;
+        this.limiter = new ReactiveConcurrencyLimiter(maxConcurrent, maxQueued);
+        this.prefetch = prefetch;
+    }
+
+    /**
+     * 1.
+     * Streams all appointments of a specific patient.
+     *
+     * @param patientId id of the patient
+     * @return a {@link Flux} of {@link Appointment} objects
+     */
+    public Flux<Appointment> getAllAppointmentsForPatient(String patientId) {
+        return limiter.limit(() -> repository.findByPatientId(patientId).limitRate(prefetch));
+    }
+
+    /**
+     * 2.
+     * Streams all appointments of a specific doctor.
+     *
+     * @param doctorId id of the doctor
+     * @return a {@link Flux} of {@link Appointment} objects
+     */
+    public Flux<Appointment> getAllAppointmentsForDoctor(String doctorId) {
+        return limiter.limit(() -> repository.findByDoctorId(doctorId).limitRate(prefetch));
+    }
+
+    /**
+     * 3.
+     * Streams all appointments scheduled between two dates, with the same bounds as
+     * {@link AppointmentService#getAppointmentBetweenDates(LocalDate, LocalDate)}.
+     *
+     * @param startDate the start of the date range
+     * @param endDate   the end of the date range
+     * @return a {@link Flux} of {@link Appointment} objects
+     */
+    public Flux<Appointment> getAppointmentBetweenDates(LocalDate startDate, LocalDate endDate) {
+        return limiter.limit(() -> repository.findByDateBetween(startDate, endDate).limitRate(prefetch));
+    }
+}
@@ -0,0 +1,99 @@
+package com.ochwada.healthcare_management.service;
+
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * *******************************************************
+ * Package: com.ochwada.healthcare_management.service
+ * File: ReactiveConcurrencyLimiter.java
+ * Author: Ochwada
+ * Date: Saturday, 17.Oct.2026, 1:31 PM
+ * Description: Non-blocking bound on the number of reactive queries in flight.
+ * Objective:
+ * - At most {@code maxConcurrent} queries run at once; further ones wait in a FIFO queue without holding a thread.
+ * - Once {@code maxQueued} queries are waiting, new ones fail fast with a {@link RejectedExecutionException}.
+ * - The permit is returned when the query completes, fails or is cancelled by the client.
+ * *******************************************************
+ */
+final class ReactiveConcurrencyLimiter {
+
+    private final Semaphore permits;
+    private final Queue<Waiter> waiters = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final int maxQueued;
+
+    ReactiveConcurrencyLimiter(int maxConcurrent, int maxQueued) {
+        this.permits = new Semaphore(maxConcurrent);
+        this.maxQueued = maxQueued;
+    }
+
+    /**
+     * Runs the query once a permit is available and releases the permit when the query terminates.
+     *
+     * @param query supplier of the query, invoked only once a permit is held
+     * @param <T>   element type
+     * @return the bounded query
+     */
+    <T> Flux<T> limit(Supplier<Flux<T>> query) {
+        return Flux.usingWhen(acquire(), permit -> query.get(), permit -> Mono.fromRunnable(this::release));
+    }
+
+    private Mono<Boolean> acquire() {
+        return Mono.create(sink -> {
+            if (permits.tryAcquire()) {
+                sink.success(Boolean.TRUE);
+                return;
+            }
+            if (queued.incrementAndGet() > maxQueued) {
+                queued.decrementAndGet();
+                sink.error(new RejectedExecutionException("Too many concurrent appointment queries"));
+                return;
+            }
+            Waiter waiter = new Waiter(sink);
+            sink.onCancel(() -> {
+                if (waiter.done.compareAndSet(false, true)) {
+                    waiters.remove(waiter);
+                    queued.decrementAndGet();
+                }
+            });
+            waiters.add(waiter);
+            // A permit may have been released between tryAcquire and add
+            drain();
+        });
+    }
+
+    private void release() {
+        permits.release();
+        drain();
+    }
+
+    private void drain() {
+        while (!waiters.isEmpty() && permits.tryAcquire()) {
+            Waiter waiter = waiters.poll();
+            if (waiter != null && waiter.done.compareAndSet(false, true)) {
+                queued.decrementAndGet();
+                waiter.sink.success(Boolean.TRUE);
+            } else {
+                permits.release();
+            }
+        }
+    }
+
+    /** A query waiting for a permit; {@code done} guards against granting a permit to a cancelled waiter. */
+    private record Waiter(MonoSink<Boolean> sink, AtomicBoolean done) {
+        Waiter(MonoSink<Boolean> sink) {
+            this(sink, new AtomicBoolean());
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package com.ochwada.healthcare_management.service;
+
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.io.InterruptedIOException;
+import java.nio.channels.ClosedByInterruptException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Supplier;
+
+/**
+ * *******************************************************
+ * Package: com.ochwada.healthcare_management.service
+ * File: SingleFlight.java
+ * Author: Ochwada
+ * Date: Sunday, 18.Oct.2026, 2:40 AM
+ * Description: Coalesces concurrent identical reads: while a load of a key is running, further callers asking for
+ * the same key wait for it and share its result instead of starting their own.
+ * - The first caller (the leader) runs the load on its own thread; followers block until it finishes and get the
+ *   same result, or the same exception.
+ * - Nothing is kept once the load has finished: the next caller starts a new one. Results are shared between the
+ *   callers of one load and must not be modified.
+ * - A follower that is interrupted stops waiting alone; the load and the other callers carry on.
+ * - A leader whose load fails because its own thread was interrupted fails alone: its followers do not inherit
+ *   the interruption but retry, one of them leading a new load.
+ * - {@code healthcare.single.flight.calls} counts calls per flight ({@code name}) and {@code role}
+ *   ({@code leader} ran the load, {@code follower} shared it); followers / all calls is the coalesce rate.
+ * Objective: Let a burst of identical requests cost one MongoDB query instead of one each.
+ * *******************************************************
+ */
+public final class SingleFlight<K, V> {
+
+    private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final boolean enabled;
+    private final Counter leaders;
+    private final Counter followers;
+
+    /**
+     * @param name     the flight's name, tagging its metrics (e.g. {@code appointments.by-doctor})
+     * @param registry the registry of the call counters
+     * @param enabled  whether calls are coalesced at all; if not, every call runs its own load
+     */
+    SingleFlight(String name, MeterRegistry registry, boolean enabled) {
+        this.enabled = enabled;
+        this.leaders = counter(name, "leader", registry);
+        this.followers = counter(name, "follower", registry);
+    }
+
+    /**
+     * 1.
+     * Returns the result of {@code loader}, shared with every concurrent call for the same key.
+     *
+     * @param key    identifies the read, e.g. its query parameters
+     * @param loader the read itself
+     * @return the result of the load this call led or joined
+     * @throws RuntimeException      the exception the load failed with
+     * @throws IllegalStateException if the thread was interrupted while waiting for another caller's load
+     */
+    public V execute(K key, Supplier<V> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+        while (true) {
+            CompletableFuture<V> flight = new CompletableFuture<>();
+            CompletableFuture<V> running = inFlight.putIfAbsent(key, flight);
+            if (running == null) {
+                return lead(key, flight, loader);
+            }
+            followers.increment();
+            try {
+                return await(running);
+            } catch (LeaderInterrupted e) {
+                // The leader's thread was interrupted, not the read itself failing: try again
+            }
+        }
+    }
+
+    private V lead(K key, CompletableFuture<V> flight, Supplier<V> loader) {
+        leaders.increment();
+        V result;
+        try {
+            result = loader.get();
+        } catch (RuntimeException | Error e) {
+            // Removed before completing, so a follower retrying after an interruption starts a new load
+            inFlight.remove(key, flight);
+            flight.completeExceptionally(isInterruption(e) ? new LeaderInterrupted(e) : e);
+            throw e;
+        }
+        inFlight.remove(key, flight);
+        flight.complete(result);
+        return result;
+    }
+
+    private V await(CompletableFuture<V> flight) {
+        try {
+            return flight.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a concurrent identical read", e);
+        }
+    }
+
+    /**
+     * Whether a load failed because the leader's thread was interrupted rather than because the read itself failed.
+     */
+    private static boolean isInterruption(Throwable failure) {
+        if (Thread.currentThread().isInterrupted()) {
+            return true;
+        }
+        for (Throwable t = failure; t != null; t = t.getCause()) {
+            if (t instanceof InterruptedException || t instanceof InterruptedIOException
+                    || t instanceof ClosedByInterruptException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Counter counter(String name, String role, MeterRegistry registry) {
+        return Counter.builder("healthcare.single.flight.calls")
+                .description("Reads that ran a load (leader) or shared a concurrent identical one (follower)")
+                .tag("name", name)
+                .tag("role", role)
+                .register(registry);
+    }
+
+    /**
+     * Hands a leader's interruption to its followers, which retry instead of failing with it.
+     */
+    private static final class LeaderInterrupted extends RuntimeException {
+        LeaderInterrupted(Throwable cause) {
+            super(cause);
+        }
+    }
+}
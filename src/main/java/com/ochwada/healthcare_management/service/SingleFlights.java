@@ -0,0 +1,49 @@
+package com.ochwada.healthcare_management.service;
+
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * *******************************************************
+ * Package: com.ochwada.healthcare_management.service
+ * File: SingleFlights.java
+ * Author: Ochwada
+ * Date: Sunday, 18.Oct.2026, 2:45 AM
+ * Description: Creates the {@link SingleFlight}s of the services, sharing the meter registry and the
+ * {@code healthcare.single-flight.enabled} switch.
+ * Objective:
+ * *******************************************************
+ */
+@Component
+public class SingleFlights {
+
+    private final MeterRegistry registry;
+    private final boolean enabled;
+
+    /**
+     * Constructor-based dependency injection  using @Autowired.
+     *
+     * @param registry The registry of the flights' call counters
+     * @param enabled  Whether concurrent identical reads are coalesced
+     */
+    @Autowired
+    public SingleFlights(MeterRegistry registry,
+                         @Value("${healthcare.single-flight.enabled:true}") boolean enabled) {
+        this.registry = registry;
+        this.enabled = enabled;
+    }
+
+    /**
+     * 1.
+     * Creates a flight; each read that should be coalesced keeps its own.
+     *
+     * @param name the flight's name, tagging its metrics
+     * @return a new, empty flight
+     */
+    public <K, V> SingleFlight<K, V> create(String name) {
+        return new SingleFlight<>(name, registry, enabled);
+    }
+}
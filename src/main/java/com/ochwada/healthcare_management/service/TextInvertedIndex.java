@@ -0,0 +1,262 @@
+package com.ochwada.healthcare_management.service;
+
+
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * *******************************************************
+ * Package: com.ochwada.healthcare_management.service
+ * File: TextInvertedIndex.java
+ * Author: Ochwada
+ * Date: Saturday, 17.Oct.2026, 8:20 PM
+ * Description: Compact in-memory inverted index over the diagnosis and treatment of medical records.
+ * Objective:
+ * - Words are lower-cased and split on anything that is not a letter or digit; common English stop words are
+ *   dropped. There is no stemming and no phrase or negation syntax.
+ * - Each word maps to postings of (record position, weight), held in primitive arrays; a word in the diagnosis
+ *   weighs twice as much as in the treatment, as in the MongoDB text index.
+ * - A record scores the sum, over the query words it contains, of weight x idf, with idf = ln(1 + N / df).
+ *   Scores are only kept for the records in the query words' postings, so a search costs time and memory in
+ *   proportion to its matches, not to the size of the index.
+ * - Re-adding a record replaces it; replaced entries stay in the postings but are skipped, until they make up half
+ *   of the index and it is compacted.
+ * - Thread-safe: many concurrent searches, one writer at a time.
+ * *******************************************************
+ */
+final class TextInvertedIndex {
+
+    private static final Pattern WORD_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Set<String> STOP_WORDS = Set.of(
+            "a", "an", "and", "are", "as", "at", "be", "by", "for", "from", "in", "is", "it", "of", "on", "or",
+            "the", "to", "was", "with");
+    private static final float DIAGNOSIS_WEIGHT = 2f;
+    private static final float TREATMENT_WEIGHT = 1f;
+    // Replaced entries are only compacted away once there are this many, so small indexes never pay for it
+    private static final int MIN_REPLACED_TO_COMPACT = 1024;
+
+    /** One search result. */
+    record Hit(String id, float score) {
+    }
+
+    // Postings of one word: positions of the records containing it, with the word's weight in each
+    private static final class Postings {
+        private int[] records = new int[4];
+        private float[] weights = new float[4];
+        private int size;
+
+        void add(int record, float weight) {
+            if (size == records.length) {
+                records = Arrays.copyOf(records, size * 2);
+                weights = Arrays.copyOf(weights, size * 2);
+            }
+            records[size] = record;
+            weights[size] = weight;
+            size++;
+        }
+    }
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Scores of the records one search touches, in an open-addressing table sized to the postings it reads
+    private static final class Scores {
+        private final int[] records;
+        private final float[] scores;
+        private final int mask;
+
+        Scores(int expected) {
+            int capacity = Integer.highestOneBit(Math.max(2, expected) * 2 - 1) << 1;
+            records = new int[capacity];
+            scores = new float[capacity];
+            mask = capacity - 1;
+            Arrays.fill(records, -1);
+        }
+
+        void add(int record, float score) {
+            int h = record * 0x9E3779B9;
+            int slot = (h ^ (h >>> 16)) & mask;
+            while (records[slot] != record && records[slot] != -1) {
+                slot = (slot + 1) & mask;
+            }
+            records[slot] = record;
+            scores[slot] += score;
+        }
+    }
+
+    // Per record position: its id, patient and creation day; replaced positions are set in 'replaced'
+    private List<String> ids = new ArrayList<>();
+    private List<String> patientIDs = new ArrayList<>();
+    private int[] createdOn = new int[1024];
+    private BitSet replaced = new BitSet();
+    private int replacedCount;
+    private final Map<String, Integer> positions = new HashMap<>();
+    private final Map<String, Postings> postings = new HashMap<>();
+
+    /**
+     * Indexes a record, replacing an earlier version with the same id.
+     */
+    void add(String id, String patientID, LocalDate created, String diagnosis, String treatment) {
+        Map<String, Float> weights = new HashMap<>();
+        tokens(diagnosis).forEach(word -> weights.merge(word, DIAGNOSIS_WEIGHT, Float::sum));
+        tokens(treatment).forEach(word -> weights.merge(word, TREATMENT_WEIGHT, Float::sum));
+
+        lock.writeLock().lock();
+        try {
+            int position = ids.size();
+            Integer previous = positions.put(id, position);
+            if (previous != null) {
+                replaced.set(previous);
+                replacedCount++;
+            }
+            ids.add(id);
+            patientIDs.add(patientID);
+            if (position == createdOn.length) {
+                createdOn = Arrays.copyOf(createdOn, position * 2);
+            }
+            createdOn[position] = created == null ? Integer.MIN_VALUE : (int) created.toEpochDay();
+            weights.forEach((word, weight) -> postings.computeIfAbsent(word, w -> new Postings()).add(position, weight));
+            if (replacedCount >= MIN_REPLACED_TO_COMPACT && replacedCount >= positions.size()) {
+                compact();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Finds the best {@code topK} records matching any word of {@code text}.
+     *
+     * @return the hits, best first (ties: most recently indexed first)
+     */
+    List<Hit> search(String text, String patientID, LocalDate from, LocalDate to, int topK) {
+        Set<String> words = new LinkedHashSet<>(tokens(text));
+        int fromDay = from == null ? Integer.MIN_VALUE : (int) from.toEpochDay();
+        int toDay = to == null ? Integer.MAX_VALUE : (int) to.toEpochDay();
+
+        lock.readLock().lock();
+        try {
+            List<Postings> matched = new ArrayList<>(words.size());
+            int expected = 0;
+            for (String word : words) {
+                Postings list = postings.get(word);
+                if (list != null) {
+                    matched.add(list);
+                    expected += list.size;
+                }
+            }
+            if (matched.isEmpty() || topK <= 0) {
+                return List.of();
+            }
+
+            int live = positions.size();
+            Scores scores = new Scores(expected);
+            for (Postings list : matched) {
+                float idf = (float) Math.log(1 + (double) live / list.size);
+                for (int i = 0; i < list.size; i++) {
+                    int record = list.records[i];
+                    if (replaced.get(record)
+                            || createdOn[record] < fromDay || createdOn[record] > toDay
+                            || (patientID != null && !patientID.equals(patientIDs.get(record)))) {
+                        continue;
+                    }
+                    scores.add(record, list.weights[i] * idf);
+                }
+            }
+            return top(scores, topK);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Selects the best touched records with a bounded min-heap of table slots (caller holds the read lock)
+    private List<Hit> top(Scores scores, int topK) {
+        Comparator<Integer> byScore = Comparator.<Integer>comparingDouble(slot -> scores.scores[slot])
+                .thenComparingInt(slot -> scores.records[slot]);
+        PriorityQueue<Integer> heap = new PriorityQueue<>(topK + 1, byScore);
+        for (int slot = 0; slot < scores.records.length; slot++) {
+            if (scores.records[slot] >= 0 && scores.scores[slot] > 0) {
+                heap.add(slot);
+                if (heap.size() > topK) {
+                    heap.poll();
+                }
+            }
+        }
+        Hit[] hits = new Hit[heap.size()];
+        for (int i = hits.length - 1; i >= 0; i--) {
+            int slot = heap.poll();
+            hits[i] = new Hit(ids.get(scores.records[slot]), scores.scores[slot]);
+        }
+        return List.of(hits);
+    }
+
+    // Drops the replaced entries, renumbering the live records in their order (caller holds the write lock)
+    private void compact() {
+        int[] moved = new int[ids.size()];
+        List<String> liveIds = new ArrayList<>(positions.size());
+        List<String> livePatientIDs = new ArrayList<>(positions.size());
+        int[] liveCreatedOn = new int[Math.max(1024, positions.size())];
+        for (int record = 0; record < ids.size(); record++) {
+            if (replaced.get(record)) {
+                moved[record] = -1;
+                continue;
+            }
+            moved[record] = liveIds.size();
+            liveCreatedOn[liveIds.size()] = createdOn[record];
+            liveIds.add(ids.get(record));
+            livePatientIDs.add(patientIDs.get(record));
+        }
+
+        Iterator<Postings> lists = postings.values().iterator();
+        while (lists.hasNext()) {
+            Postings list = lists.next();
+            int size = 0;
+            for (int i = 0; i < list.size; i++) {
+                int record = moved[list.records[i]];
+                if (record >= 0) {
+                    list.records[size] = record;
+                    list.weights[size] = list.weights[i];
+                    size++;
+                }
+            }
+            if (size == 0) {
+                lists.remove();
+            } else {
+                list.size = size;
+            }
+        }
+        positions.replaceAll((id, record) -> moved[record]);
+
+        ids = liveIds;
+        patientIDs = livePatientIDs;
+        createdOn = liveCreatedOn;
+        replaced = new BitSet();
+        replacedCount = 0;
+    }
+
+    /**
+     * @return the number of records indexed (latest versions only)
+     */
+    int size() {
+        lock.readLock().lock();
+        try {
+            return positions.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    static List<String> tokens(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        List<String> tokens = new ArrayList<>();
+        for (String word : WORD_SEPARATOR.split(text.toLowerCase(Locale.ROOT))) {
+            if (word.length() > 1 && !STOP_WORDS.contains(word)) {
+                tokens.add(word);
+            }
+        }
+        return tokens;
+    }
+}
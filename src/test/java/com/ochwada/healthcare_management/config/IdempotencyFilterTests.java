@@ -0,0 +1,201 @@
+package com.ochwada.healthcare_management.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ochwada.healthcare_management.service.IdempotencyStore;
+import com.ochwada.healthcare_management.service.IdempotencyStore.Claim;
+import com.ochwada.healthcare_management.service.IdempotencyStore.Outcome;
+import com.ochwada.healthcare_management.service.IdempotencyStore.StoredResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * *******************************************************
+ * Package: com.ochwada.healthcare_management.config
+ * File: IdempotencyFilterTests.java
+ * Author: Ochwada
+ * Date: Saturday, 17.Oct.2026
+ * Description: Unit tests of {@link IdempotencyFilter} with a mocked {@link IdempotencyStore}: which responses are
+ * stored for replay and which release the key, and how replays, retries in progress and mismatches are answered.
+ * *******************************************************
+ */
+class IdempotencyFilterTests {
+
+    private static final String BODY = "{\"patientId\":\"p1\"}";
+    private static final String KEY = "/appointments key-1";
+
+    private final IdempotencyStore store = mock(IdempotencyStore.class);
+    private final IdempotencyFilter filter = new IdempotencyFilter(store, new ObjectMapper(),
+            new SimpleMeterRegistry(), List.of("/appointments", "/patients/add-patient"));
+
+    @Test
+    void successesAreStored() throws Exception {
+        claimed();
+
+        MockHttpServletResponse response = run(201);
+
+        ArgumentCaptor<StoredResponse> stored = ArgumentCaptor.forClass(StoredResponse.class);
+        verify(store).complete(eq(KEY), stored.capture());
+        verify(store, never()).release(anyString());
+        assertThat(stored.getValue().status()).isEqualTo(201);
+        assertThat(new String(stored.getValue().body(), StandardCharsets.UTF_8)).isEqualTo(BODY);
+        assertThat(response.getContentAsString()).isEqualTo(BODY);
+    }
+
+    @Test
+    void validationErrorsAreStored() throws Exception {
+        claimed();
+
+        run(422);
+
+        verify(store).complete(eq(KEY), any());
+        verify(store, never()).release(anyString());
+    }
+
+    @Test
+    void conflictsReleaseTheKey() throws Exception {
+        claimed();
+
+        MockHttpServletResponse response = run(409);
+
+        verify(store).release(KEY);
+        verify(store, never()).complete(anyString(), any());
+        assertThat(response.getStatus()).isEqualTo(409);
+    }
+
+    @Test
+    void serverErrorsReleaseTheKey() throws Exception {
+        claimed();
+
+        run(503);
+
+        verify(store).release(KEY);
+        verify(store, never()).complete(anyString(), any());
+    }
+
+    @Test
+    void exceptionsReleaseTheKey() {
+        claimed();
+        MockFilterChain chain = new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest request, HttpServletResponse response) {
+                throw new IllegalStateException("failed");
+            }
+        });
+
+        assertThatThrownBy(() -> filter.doFilter(request(), new MockHttpServletResponse(), chain))
+                .isInstanceOf(IllegalStateException.class);
+        verify(store).release(KEY);
+    }
+
+    @Test
+    void aRetryGetsTheStoredResponse() throws Exception {
+        when(store.claim(eq(KEY), anyString())).thenReturn(new Claim(Outcome.REPLAY,
+                new StoredResponse("hash", 201, "application/json", "{\"id\":\"a1\"}".getBytes(StandardCharsets.UTF_8))));
+        MockFilterChain chain = new MockFilterChain();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request(), response, chain);
+
+        assertThat(chain.getRequest()).isNull();
+        assertThat(response.getStatus()).isEqualTo(201);
+        assertThat(response.getContentType()).isEqualTo("application/json");
+        assertThat(response.getHeader(IdempotencyFilter.REPLAYED_HEADER)).isEqualTo("true");
+        assertThat(response.getContentAsString()).isEqualTo("{\"id\":\"a1\"}");
+    }
+
+    @Test
+    void aRetryWhileInProgressIsAConflict() throws Exception {
+        when(store.claim(eq(KEY), anyString())).thenReturn(new Claim(Outcome.IN_PROGRESS, null));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request(), response, new MockFilterChain());
+
+        assertThat(response.getStatus()).isEqualTo(409);
+        assertThat(response.getContentAsString()).contains("\"error\"");
+    }
+
+    @Test
+    void aKeyReusedWithAnotherBodyIsUnprocessable() throws Exception {
+        when(store.claim(eq(KEY), anyString())).thenReturn(new Claim(Outcome.MISMATCH, null));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request(), response, new MockFilterChain());
+
+        assertThat(response.getStatus()).isEqualTo(422);
+    }
+
+    @Test
+    void requestsWithoutAKeyAreNotAffected() throws Exception {
+        MockHttpServletRequest request = request();
+        request.removeHeader(IdempotencyFilter.HEADER);
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        assertThat(chain.getRequest()).isSameAs(request);
+        verifyNoInteractions(store);
+    }
+
+    @Test
+    void onlySuccessesAndRepeatableClientErrorsAreReplayable() {
+        assertThat(IdempotencyFilter.isReplayable(200)).isTrue();
+        assertThat(IdempotencyFilter.isReplayable(201)).isTrue();
+        assertThat(IdempotencyFilter.isReplayable(400)).isTrue();
+        assertThat(IdempotencyFilter.isReplayable(422)).isTrue();
+        assertThat(IdempotencyFilter.isReplayable(404)).isFalse();
+        assertThat(IdempotencyFilter.isReplayable(409)).isFalse();
+        assertThat(IdempotencyFilter.isReplayable(500)).isFalse();
+        assertThat(IdempotencyFilter.isReplayable(503)).isFalse();
+    }
+
+    private void claimed() {
+        when(store.claim(eq(KEY), anyString())).thenReturn(new Claim(Outcome.CLAIMED, null));
+    }
+
+    /**
+     * Runs the filter in front of a controller echoing the request body with the given status.
+     */
+    private MockHttpServletResponse run(int status) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request(), response, new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest request, HttpServletResponse response) throws IOException {
+                response.setStatus(status);
+                response.setContentType("application/json");
+                response.getOutputStream().write(request.getInputStream().readAllBytes());
+            }
+        }));
+        return response;
+    }
+
+    private static MockHttpServletRequest request() {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/appointments");
+        request.setServletPath("/appointments");
+        request.addHeader(IdempotencyFilter.HEADER, "key-1");
+        request.setContentType("application/json");
+        request.setContent(BODY.getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+}
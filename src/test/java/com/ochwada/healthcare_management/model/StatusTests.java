@@ -0,0 +1,39 @@
+package com.ochwada.healthcare_management.model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * *******************************************************
+ * Package: com.ochwada.healthcare_management.model
+ * File: StatusTests.java
+ * Author: Ochwada
+ * Date: Saturday, 17.Oct.2026
+ * Description: Unit tests of the appointment status transitions.
+ * *******************************************************
+ */
+class StatusTests {
+
+    @Test
+    void aScheduledAppointmentMayBeCompletedOrCancelled() {
+        assertThat(Status.SCHEDULED.canTransitionTo(Status.COMPLETED)).isTrue();
+        assertThat(Status.SCHEDULED.canTransitionTo(Status.CANCELLED)).isTrue();
+        assertThat(Status.SCHEDULED.canTransitionTo(Status.SCHEDULED)).isFalse();
+    }
+
+    @Test
+    void completedAndCancelledAreFinal() {
+        for (Status target : Status.values()) {
+            assertThat(Status.COMPLETED.canTransitionTo(target)).isFalse();
+            assertThat(Status.CANCELLED.canTransitionTo(target)).isFalse();
+        }
+    }
+
+    @Test
+    void legalSourcesMatchCanTransitionTo() {
+        assertThat(Status.COMPLETED.legalSources()).containsExactly(Status.SCHEDULED);
+        assertThat(Status.CANCELLED.legalSources()).containsExactly(Status.SCHEDULED);
+        assertThat(Status.SCHEDULED.legalSources()).isEmpty();
+    }
+}
@@ -0,0 +1,106 @@
+package com.ochwada.healthcare_management.repository;
+
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.ServerAddress;
+import com.mongodb.WriteConcern;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.bulk.WriteConcernError;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.InsertManyOptions;
+import com.ochwada.healthcare_management.model.Appointment;
+import com.ochwada.healthcare_management.model.Status;
+import org.bson.BsonDocument;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.mongodb.core.MongoExceptionTranslator;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * *******************************************************
+ * Package: com.ochwada.healthcare_management.repository
+ * File: AppointmentRepositoryCustomImplTests.java
+ * Author: Ochwada
+ * Date: Saturday, 17.Oct.2026
+ * Description: Unit tests of the unordered bulk insert of {@link AppointmentRepositoryCustomImpl} against a mocked
+ * collection: write errors are reported by the index of the appointment they belong to.
+ * *******************************************************
+ */
+class AppointmentRepositoryCustomImplTests {
+
+    private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+    @SuppressWarnings("unchecked")
+    private final MongoCollection<Document> collection = mock(MongoCollection.class);
+    private final AppointmentRepositoryCustomImpl repository = new AppointmentRepositoryCustomImpl(mongoTemplate);
+
+    @BeforeEach
+    void mockCollection() {
+        when(mongoTemplate.getConverter()).thenReturn(mock(MongoConverter.class));
+        when(mongoTemplate.getExceptionTranslator()).thenReturn(new MongoExceptionTranslator());
+        when(mongoTemplate.getCollectionName(Appointment.class)).thenReturn("appointments");
+        when(mongoTemplate.getCollection("appointments")).thenReturn(collection);
+        when(collection.withWriteConcern(any())).thenReturn(collection);
+    }
+
+    @Test
+    void writeErrorsAreReportedByTheIndexOfTheirAppointment() {
+        when(collection.insertMany(anyList(), any(InsertManyOptions.class))).thenThrow(bulkWriteException(
+                List.of(error(1, "E11000 duplicate key"), error(3, "Document failed validation")), null));
+
+        Map<Integer, String> errors = repository.insertAllUnordered(appointments(4), WriteConcern.ACKNOWLEDGED);
+
+        assertThat(errors).containsOnly(Map.entry(1, "E11000 duplicate key"), Map.entry(3, "Document failed validation"));
+    }
+
+    @Test
+    void idsAreAssignedBeforeTheWrite() {
+        List<Appointment> appointments = appointments(2);
+
+        assertThat(repository.insertAllUnordered(appointments, WriteConcern.ACKNOWLEDGED)).isEmpty();
+        assertThat(appointments).allSatisfy(appointment -> assertThat(appointment.getId()).isNotNull());
+    }
+
+    @Test
+    void aWriteConcernErrorFailsTheWholeBatch() {
+        WriteConcernError writeConcernError = new WriteConcernError(64, "WriteConcernFailed",
+                "waiting for replication timed out", new BsonDocument());
+        when(collection.insertMany(anyList(), any(InsertManyOptions.class)))
+                .thenThrow(bulkWriteException(List.of(), writeConcernError));
+
+        assertThatThrownBy(() -> repository.insertAllUnordered(appointments(2), WriteConcern.MAJORITY))
+                .isInstanceOf(DataAccessException.class);
+    }
+
+    private static MongoBulkWriteException bulkWriteException(List<BulkWriteError> errors,
+                                                              WriteConcernError writeConcernError) {
+        return new MongoBulkWriteException(BulkWriteResult.unacknowledged(), errors, writeConcernError,
+                new ServerAddress(), Set.of());
+    }
+
+    private static BulkWriteError error(int index, String message) {
+        return new BulkWriteError(message.startsWith("E11000") ? 11000 : 121, message, new BsonDocument(), index);
+    }
+
+    private static List<Appointment> appointments(int count) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> new Appointment(null, "patient-" + i, "doctor-1", LocalDate.now().plusDays(1),
+                        "checkup", Status.SCHEDULED, i))
+                .toList();
+    }
+}
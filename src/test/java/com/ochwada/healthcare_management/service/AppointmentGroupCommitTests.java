@@ -0,0 +1,193 @@
+package com.ochwada.healthcare_management.service;
+
+import com.mongodb.WriteConcern;
+import com.ochwada.healthcare_management.model.Appointment;
+import com.ochwada.healthcare_management.model.Status;
+import com.ochwada.healthcare_management.repository.AppointmentRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * *******************************************************
+ * Package: com.ochwada.healthcare_management.service
+ * File: AppointmentGroupCommitTests.java
+ * Author: Ochwada
+ * Date: Saturday, 17.Oct.2026
+ * Description: Unit tests of {@link AppointmentGroupCommit} against a mocked repository: per-caller results of a
+ * batch, the bounded queue and draining on shutdown.
+ * *******************************************************
+ */
+class AppointmentGroupCommitTests {
+
+    private final AppointmentRepository repository = mock(AppointmentRepository.class);
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final ExecutorService callers = Executors.newCachedThreadPool();
+    private AppointmentGroupCommit groupCommit;
+
+    @AfterEach
+    void shutdown() throws InterruptedException {
+        if (groupCommit != null) {
+            groupCommit.stop();
+        }
+        callers.shutdownNow();
+    }
+
+    @Test
+    void everyCallerGetsTheOutcomeAtItsIndex() throws Exception {
+        // Fails the appointments by their reason, wherever the flusher put them in the batch
+        when(repository.insertAllUnordered(anyList(), any(WriteConcern.class))).thenAnswer(invocation -> {
+            List<Appointment> batch = invocation.getArgument(0);
+            Map<Integer, String> errors = new HashMap<>();
+            for (int i = 0; i < batch.size(); i++) {
+                Appointment appointment = batch.get(i);
+                appointment.setId("id-" + appointment.getReason());
+                if (appointment.getReason().equals("duplicate")) {
+                    errors.put(i, "E11000 duplicate key error collection: appointments index: doctorId_date_slot");
+                } else if (appointment.getReason().equals("invalid")) {
+                    errors.put(i, "Document failed validation");
+                }
+            }
+            return errors;
+        });
+        groupCommit = start(3, Duration.ofSeconds(5), 10);
+
+        Future<Appointment> written = callers.submit(() -> groupCommit.insert(appointment("written")));
+        Future<Appointment> duplicate = callers.submit(() -> groupCommit.insert(appointment("duplicate")));
+        Future<Appointment> invalid = callers.submit(() -> groupCommit.insert(appointment("invalid")));
+
+        assertThat(written.get(5, TimeUnit.SECONDS).getId()).isEqualTo("id-written");
+        assertThatThrownBy(() -> duplicate.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(DuplicateKeyException.class);
+        assertThatThrownBy(() -> invalid.get(5, TimeUnit.SECONDS))
+                .hasCauseInstanceOf(DataIntegrityViolationException.class)
+                .cause().isNotInstanceOf(DuplicateKeyException.class);
+        assertThat(registry.get("healthcare.group.commit.batch.size").summary().max()).isEqualTo(3);
+    }
+
+    @Test
+    void aFailedBulkWriteFailsEveryCallerOfTheBatch() {
+        when(repository.insertAllUnordered(anyList(), any(WriteConcern.class)))
+                .thenThrow(new DataIntegrityViolationException("write concern error"));
+        groupCommit = start(1, Duration.ZERO, 10);
+
+        assertThatThrownBy(() -> groupCommit.insert(appointment("a")))
+                .isInstanceOf(DataIntegrityViolationException.class)
+                .hasMessage("write concern error");
+    }
+
+    @Test
+    void aFullQueueIsRefused() throws Exception {
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        blockFirstWrite(writing, release);
+        groupCommit = start(1, Duration.ZERO, 1);
+
+        Future<Appointment> first = callers.submit(() -> groupCommit.insert(appointment("first")));
+        assertThat(writing.await(5, TimeUnit.SECONDS)).isTrue();
+        Future<Appointment> queued = callers.submit(() -> groupCommit.insert(appointment("queued")));
+        awaitQueueSize(1);
+
+        assertThatThrownBy(() -> groupCommit.insert(appointment("refused")))
+                .isInstanceOf(RejectedExecutionException.class)
+                .hasMessageContaining("Too many appointments waiting");
+
+        release.countDown();
+        assertThat(first.get(5, TimeUnit.SECONDS).getReason()).isEqualTo("first");
+        assertThat(queued.get(5, TimeUnit.SECONDS).getReason()).isEqualTo("queued");
+    }
+
+    @Test
+    void stopWritesWhatIsQueuedThenRefusesNewInserts() throws Exception {
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        blockFirstWrite(writing, release);
+        groupCommit = start(1, Duration.ZERO, 10);
+
+        Future<Appointment> first = callers.submit(() -> groupCommit.insert(appointment("first")));
+        assertThat(writing.await(5, TimeUnit.SECONDS)).isTrue();
+        Future<Appointment> queued = callers.submit(() -> groupCommit.insert(appointment("queued")));
+        awaitQueueSize(1);
+
+        Future<?> stopping = callers.submit(() -> {
+            groupCommit.stop();
+            return null;
+        });
+        release.countDown();
+        stopping.get(5, TimeUnit.SECONDS);
+
+        assertThat(first.get(5, TimeUnit.SECONDS).getReason()).isEqualTo("first");
+        assertThat(queued.get(5, TimeUnit.SECONDS).getReason()).isEqualTo("queued");
+        assertThatThrownBy(() -> groupCommit.insert(appointment("late")))
+                .isInstanceOf(RejectedExecutionException.class)
+                .hasMessageContaining("not running");
+    }
+
+    @Test
+    void aCallerWaitsAtMostTheTimeout() throws Exception {
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        blockFirstWrite(writing, release);
+        groupCommit = new AppointmentGroupCommit(repository, registry, true, 1, Duration.ZERO, 10,
+                Duration.ofMillis(200), "ACKNOWLEDGED");
+        groupCommit.start();
+
+        // Taken by the flusher, so it may have been written: the caller must check before retrying
+        assertThatThrownBy(() -> groupCommit.insert(appointment("slow")))
+                .isInstanceOf(RejectedExecutionException.class)
+                .hasMessageContaining("not confirmed");
+        release.countDown();
+    }
+
+    private AppointmentGroupCommit start(int maxBatchSize, Duration maxDelay, int queueCapacity) {
+        AppointmentGroupCommit started = new AppointmentGroupCommit(repository, registry, true, maxBatchSize,
+                maxDelay, queueCapacity, Duration.ofSeconds(10), "ACKNOWLEDGED");
+        started.start();
+        return started;
+    }
+
+    private void blockFirstWrite(CountDownLatch writing, CountDownLatch release) {
+        when(repository.insertAllUnordered(anyList(), any(WriteConcern.class))).thenAnswer(invocation -> {
+            writing.countDown();
+            assertThat(release.await(5, TimeUnit.SECONDS)).isTrue();
+            return Map.of();
+        });
+    }
+
+    private void awaitQueueSize(int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (queueSize() < expected && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertThat(queueSize()).isEqualTo(expected);
+    }
+
+    private double queueSize() {
+        return registry.get("healthcare.group.commit.queue.size").gauge().value();
+    }
+
+    private static Appointment appointment(String reason) {
+        return new Appointment(null, "patient-1", "doctor-1", LocalDate.now().plusDays(1), reason,
+                Status.SCHEDULED, null);
+    }
+}
@@ -0,0 +1,120 @@
+package com.ochwada.healthcare_management.service;
+
+import com.ochwada.healthcare_management.exception.AppointmentConflictException;
+import com.ochwada.healthcare_management.model.Appointment;
+import com.ochwada.healthcare_management.model.Status;
+import com.ochwada.healthcare_management.repository.AppointmentRepository;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * *******************************************************
+ * Package: com.ochwada.healthcare_management.service
+ * File: DoctorScheduleIndexTests.java
+ * Author: Ochwada
+ * Date: Saturday, 17.Oct.2026
+ * Description: Unit tests of {@link DoctorScheduleIndex} against a mocked repository: slot reservation, release,
+ * reload after invalidation and fully booked days, which are reloaded once before a booking is refused.
+ * *******************************************************
+ */
+class DoctorScheduleIndexTests {
+
+    private static final String DOCTOR = "doctor-1";
+    private static final LocalDate DAY = LocalDate.of(2026, 11, 2);
+
+    private final AppointmentRepository repository = mock(AppointmentRepository.class);
+    private final DoctorScheduleIndex index = new DoctorScheduleIndex(repository, 3, 100, Duration.ofMinutes(30));
+
+    @Test
+    void reservesTheLowestFreeSlots() {
+        bookedOnMongo();
+
+        assertThat(index.reserve(DOCTOR, DAY)).isZero();
+        assertThat(index.reserve(DOCTOR, DAY)).isEqualTo(1);
+        assertThat(index.reserve("doctor-2", DAY)).isZero();
+        assertThat(index.reserve(DOCTOR, DAY.plusDays(1))).isZero();
+    }
+
+    @Test
+    void skipsTheSlotsBookedOnMongo() {
+        bookedOnMongo(appointment(0), appointment(2));
+
+        assertThat(index.reserve(DOCTOR, DAY)).isEqualTo(1);
+        verify(repository).findByDoctorIdAndDateAndStatusNot(DOCTOR, DAY, Status.CANCELLED);
+    }
+
+    @Test
+    void aReleasedSlotIsReservedAgain() {
+        bookedOnMongo();
+        index.reserve(DOCTOR, DAY);
+        index.reserve(DOCTOR, DAY);
+
+        index.release(DOCTOR, DAY, 0);
+        index.release(DOCTOR, DAY, null);
+
+        assertThat(index.reserve(DOCTOR, DAY)).isZero();
+        assertThat(index.reserve(DOCTOR, DAY)).isEqualTo(2);
+    }
+
+    @Test
+    void anInvalidatedDayIsReloaded() {
+        bookedOnMongo();
+        assertThat(index.reserve(DOCTOR, DAY)).isZero();
+
+        // Another instance took slots 0 and 1 meanwhile
+        bookedOnMongo(appointment(0), appointment(1));
+        index.invalidate(DOCTOR, DAY);
+
+        assertThat(index.reserve(DOCTOR, DAY)).isEqualTo(2);
+        verify(repository, times(2)).findByDoctorIdAndDateAndStatusNot(DOCTOR, DAY, Status.CANCELLED);
+    }
+
+    @Test
+    void aFullDayIsRefused() {
+        bookedOnMongo(appointment(0), appointment(1), appointment(2));
+
+        assertThatThrownBy(() -> index.reserve(DOCTOR, DAY))
+                .isInstanceOf(AppointmentConflictException.class)
+                .hasMessageContaining("fully booked");
+        verify(repository, times(2)).findByDoctorIdAndDateAndStatusNot(DOCTOR, DAY, Status.CANCELLED);
+    }
+
+    @Test
+    void aFullDayIsReloadedBeforeItIsRefused() {
+        bookedOnMongo(appointment(0), appointment(1), appointment(2));
+        assertThatThrownBy(() -> index.reserve(DOCTOR, DAY)).isInstanceOf(AppointmentConflictException.class);
+
+        // Another instance cancelled the appointment in slot 1
+        bookedOnMongo(appointment(0), appointment(2));
+
+        assertThat(index.reserve(DOCTOR, DAY)).isEqualTo(1);
+    }
+
+    @Test
+    void appointmentsWithoutASlotCountAgainstTheCapacity() {
+        bookedOnMongo(appointment(null), appointment(null));
+        assertThat(index.reserve(DOCTOR, DAY)).isZero();
+
+        bookedOnMongo(appointment(null), appointment(null), appointment(0));
+        assertThatThrownBy(() -> index.reserve(DOCTOR, DAY)).isInstanceOf(AppointmentConflictException.class);
+    }
+
+    private void bookedOnMongo(Appointment... appointments) {
+        when(repository.findByDoctorIdAndDateAndStatusNot(DOCTOR, DAY, Status.CANCELLED))
+                .thenReturn(List.of(appointments));
+    }
+
+    private static Appointment appointment(Integer slot) {
+        return new Appointment("id-" + slot, "patient-1", DOCTOR, DAY, "checkup", Status.SCHEDULED, slot);
+    }
+}
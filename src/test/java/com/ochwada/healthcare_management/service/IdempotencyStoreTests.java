@@ -0,0 +1,164 @@
+package com.ochwada.healthcare_management.service;
+
+import com.ochwada.healthcare_management.model.IdempotencyKey;
+import com.ochwada.healthcare_management.service.IdempotencyStore.Claim;
+import com.ochwada.healthcare_management.service.IdempotencyStore.Outcome;
+import com.ochwada.healthcare_management.service.IdempotencyStore.StoredResponse;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * *******************************************************
+ * Package: com.ochwada.healthcare_management.service
+ * File: IdempotencyStoreTests.java
+ * Author: Ochwada
+ * Date: Saturday, 17.Oct.2026
+ * Description: Unit tests of {@link IdempotencyStore} against a mocked {@link MongoTemplate}: claims, replays of
+ * stored responses, mismatched bodies, keys still in progress, expired keys and the in-memory cache.
+ * *******************************************************
+ */
+class IdempotencyStoreTests {
+
+    private static final String KEY = "/appointments key-1";
+    private static final String HASH = "hash-1";
+
+    private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+    private final IdempotencyStore store = new IdempotencyStore(mongoTemplate, Duration.ofHours(24),
+            Duration.ofMinutes(1), 100);
+
+    @Test
+    void anUnknownKeyIsClaimed() {
+        Claim claim = store.claim(KEY, HASH);
+
+        assertThat(claim.outcome()).isEqualTo(Outcome.CLAIMED);
+        verify(mongoTemplate, never()).findById(any(), eq(IdempotencyKey.class));
+    }
+
+    @Test
+    void theClaimOnlyMatchesAnExpiredKey() {
+        // A live key makes the upsert insert a second document with the same _id, which fails
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<FindAndModifyOptions> options = ArgumentCaptor.forClass(FindAndModifyOptions.class);
+
+        assertThat(store.claim(KEY, HASH).outcome()).isEqualTo(Outcome.CLAIMED);
+
+        verify(mongoTemplate).findAndModify(query.capture(), any(Update.class), options.capture(),
+                eq(IdempotencyKey.class));
+        Document criteria = query.getValue().getQueryObject();
+        assertThat(criteria.get("id")).isEqualTo(KEY);
+        assertThat(criteria.get("expiresAt", Document.class)).containsKey("$lt");
+        assertThat(options.getValue().isUpsert()).isTrue();
+    }
+
+    @Test
+    void aRetryOfACompletedRequestIsReplayed() {
+        keyExists(completedKey(HASH, Instant.now().plus(Duration.ofHours(1))));
+
+        Claim claim = store.claim(KEY, HASH);
+
+        assertThat(claim.outcome()).isEqualTo(Outcome.REPLAY);
+        assertThat(claim.response().status()).isEqualTo(201);
+        assertThat(claim.response().contentType()).isEqualTo("application/json");
+        assertThat(new String(claim.response().body(), StandardCharsets.UTF_8)).isEqualTo("{\"id\":\"a1\"}");
+    }
+
+    @Test
+    void aReplayedResponseIsThenServedFromMemory() {
+        keyExists(completedKey(HASH, Instant.now().plus(Duration.ofHours(1))));
+
+        store.claim(KEY, HASH);
+        Claim again = store.claim(KEY, HASH);
+
+        assertThat(again.outcome()).isEqualTo(Outcome.REPLAY);
+        verify(mongoTemplate, times(1)).findById(KEY, IdempotencyKey.class);
+    }
+
+    @Test
+    void aCachedResponseExpiresWithItsStoredKey() throws InterruptedException {
+        keyExists(completedKey(HASH, Instant.now().plusMillis(100)));
+        assertThat(store.claim(KEY, HASH).outcome()).isEqualTo(Outcome.REPLAY);
+
+        Thread.sleep(200);
+        store.claim(KEY, HASH);
+
+        verify(mongoTemplate, times(2)).findById(KEY, IdempotencyKey.class);
+    }
+
+    @Test
+    void aKeyReusedWithAnotherBodyIsAMismatch() {
+        keyExists(completedKey("another-hash", Instant.now().plus(Duration.ofHours(1))));
+
+        assertThat(store.claim(KEY, HASH).outcome()).isEqualTo(Outcome.MISMATCH);
+    }
+
+    @Test
+    void aKeyWhoseRequestIsStillProcessedIsInProgress() {
+        keyExists(new IdempotencyKey(KEY, HASH, false, null, null, null, Instant.now().plus(Duration.ofMinutes(1))));
+
+        assertThat(store.claim(KEY, HASH).outcome()).isEqualTo(Outcome.IN_PROGRESS);
+    }
+
+    @Test
+    void aKeyRemovedAfterTheFailedClaimIsClaimedAgain() {
+        // Expired and removed by the TTL monitor between the failed upsert and the read
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class),
+                eq(IdempotencyKey.class)))
+                .thenThrow(new DuplicateKeyException("E11000"))
+                .thenReturn(null);
+        when(mongoTemplate.findById(KEY, IdempotencyKey.class)).thenReturn(null);
+
+        assertThat(store.claim(KEY, HASH).outcome()).isEqualTo(Outcome.CLAIMED);
+    }
+
+    @Test
+    void aCompletedResponseIsReplayedWithoutAQuery() {
+        store.complete(KEY, new StoredResponse(HASH, 201, "application/json", new byte[0]));
+
+        Claim claim = store.claim(KEY, HASH);
+
+        assertThat(claim.outcome()).isEqualTo(Outcome.REPLAY);
+        assertThat(store.claim(KEY, "another-hash").outcome()).isEqualTo(Outcome.MISMATCH);
+        verify(mongoTemplate, never()).findAndModify(any(Query.class), any(Update.class),
+                any(FindAndModifyOptions.class), eq(IdempotencyKey.class));
+    }
+
+    @Test
+    void releaseOnlyRemovesAKeyStillInProgress() {
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+
+        store.release(KEY);
+
+        verify(mongoTemplate).remove(query.capture(), eq(IdempotencyKey.class));
+        assertThat(query.getValue().getQueryObject()).containsEntry("id", KEY).containsEntry("completed", false);
+    }
+
+    private void keyExists(IdempotencyKey existing) {
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class),
+                eq(IdempotencyKey.class))).thenThrow(new DuplicateKeyException("E11000"));
+        when(mongoTemplate.findById(KEY, IdempotencyKey.class)).thenReturn(existing);
+    }
+
+    private static IdempotencyKey completedKey(String requestHash, Instant expiresAt) {
+        return new IdempotencyKey(KEY, requestHash, true, 201, "application/json",
+                "{\"id\":\"a1\"}".getBytes(StandardCharsets.UTF_8), expiresAt);
+    }
+}
@@ -0,0 +1,175 @@
+package com.ochwada.healthcare_management.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * *******************************************************
+ * Package: com.ochwada.healthcare_management.service
+ * File: SingleFlightTests.java
+ * Author: Ochwada
+ * Date: Saturday, 17.Oct.2026
+ * Description: Unit tests of {@link SingleFlight}: result sharing, error fan-out and interruptions of followers
+ * and leaders.
+ * *******************************************************
+ */
+class SingleFlightTests {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final SingleFlight<String, String> flight = new SingleFlight<>("test", registry, true);
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    @AfterEach
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void followersShareTheLeadersResult() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger loads = new AtomicInteger();
+
+        Future<String> leader = executor.submit(() -> flight.execute("k", () -> {
+            loads.incrementAndGet();
+            loading.countDown();
+            await(release);
+            return "result";
+        }));
+        assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+
+        List<Future<String>> followers = List.of(
+                executor.submit(() -> flight.execute("k", () -> "own load")),
+                executor.submit(() -> flight.execute("k", () -> "own load")));
+        awaitCount("follower", 2);
+        release.countDown();
+
+        assertThat(leader.get(5, TimeUnit.SECONDS)).isEqualTo("result");
+        for (Future<String> follower : followers) {
+            assertThat(follower.get(5, TimeUnit.SECONDS)).isEqualTo("result");
+        }
+        assertThat(loads).hasValue(1);
+        assertThat(count("leader")).isEqualTo(1);
+    }
+
+    @Test
+    void followersGetTheLeadersException() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        IllegalArgumentException failure = new IllegalArgumentException("bad read");
+
+        Future<String> leader = executor.submit(() -> flight.execute("k", () -> {
+            loading.countDown();
+            await(release);
+            throw failure;
+        }));
+        assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+        Future<String> follower = executor.submit(() -> flight.execute("k", () -> "own load"));
+        awaitCount("follower", 1);
+        release.countDown();
+
+        assertThatThrownBy(() -> leader.get(5, TimeUnit.SECONDS)).hasCause(failure);
+        assertThatThrownBy(() -> follower.get(5, TimeUnit.SECONDS)).hasCause(failure);
+    }
+
+    @Test
+    void nothingIsKeptOnceALoadHasFinished() {
+        assertThat(flight.execute("k", () -> "first")).isEqualTo("first");
+        assertThat(flight.execute("k", () -> "second")).isEqualTo("second");
+        assertThat(count("leader")).isEqualTo(2);
+    }
+
+    @Test
+    void anInterruptedFollowerStopsWaitingAlone() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        Future<String> leader = executor.submit(() -> flight.execute("k", () -> {
+            loading.countDown();
+            await(release);
+            return "result";
+        }));
+        assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+        Future<String> follower = executor.submit(() -> flight.execute("k", () -> "own load"));
+        awaitCount("follower", 1);
+
+        follower.cancel(true);
+        release.countDown();
+
+        assertThat(leader.get(5, TimeUnit.SECONDS)).isEqualTo("result");
+    }
+
+    @Test
+    void followersOfAnInterruptedLeaderRetry() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch interrupted = new CountDownLatch(1);
+
+        Future<String> leader = executor.submit(() -> flight.execute("k", () -> {
+            loading.countDown();
+            try {
+                new CountDownLatch(1).await();
+                return "unreachable";
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+                throw new UncheckedIOException(new InterruptedIOException("query interrupted"));
+            }
+        }));
+        assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+        Future<String> follower = executor.submit(() -> flight.execute("k", () -> "retried"));
+        awaitCount("follower", 1);
+
+        leader.cancel(true);
+        assertThat(interrupted.await(5, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(follower.get(5, TimeUnit.SECONDS)).isEqualTo("retried");
+        assertThat(count("leader")).isEqualTo(2);
+    }
+
+    @Test
+    void disabledFlightsRunEveryLoad() {
+        SingleFlight<String, String> disabled = new SingleFlight<>("disabled", registry, false);
+        AtomicInteger loads = new AtomicInteger();
+
+        disabled.execute("k", () -> "a" + loads.incrementAndGet());
+        disabled.execute("k", () -> "a" + loads.incrementAndGet());
+
+        assertThat(loads).hasValue(2);
+    }
+
+    private double count(String role) {
+        return registry.get("healthcare.single.flight.calls").tag("name", "test").tag("role", role).counter().count();
+    }
+
+    private void awaitCount(String role, int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (count(role) < expected && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertThat(count(role)).isEqualTo(expected);
+        // The counter is incremented just before the follower starts waiting
+        Thread.sleep(50);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.ochwada.healthcare_management.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * *******************************************************
+ * Package: com.ochwada.healthcare_management.service
+ * File: TextInvertedIndexTests.java
+ * Author: Ochwada
+ * Date: Saturday, 17.Oct.2026
+ * Description: Unit tests of {@link TextInvertedIndex}: ranking, filters, replaced records and compaction.
+ * *******************************************************
+ */
+class TextInvertedIndexTests {
+
+    private static final LocalDate DAY = LocalDate.of(2026, 10, 1);
+
+    private final TextInvertedIndex index = new TextInvertedIndex();
+
+    @Test
+    void recordsAreRankedByWeightedMatches() {
+        index.add("r1", "p1", DAY, "Migraine", "Rest");
+        index.add("r2", "p1", DAY, "Tension headache", "Ibuprofen for the migraine");
+        index.add("r3", "p2", DAY, "Migraine with headache", "Rest");
+        index.add("r4", "p2", DAY, "Fracture", "Cast");
+
+        List<TextInvertedIndex.Hit> hits = index.search("migraine headache", null, null, null, 10);
+
+        assertThat(hits).extracting(TextInvertedIndex.Hit::id).containsExactly("r3", "r2", "r1");
+        assertThat(hits.get(0).score()).isGreaterThan(hits.get(1).score());
+    }
+
+    @Test
+    void onlyTheBestTopKAreReturned() {
+        for (int i = 0; i < 100; i++) {
+            index.add("r" + i, "p1", DAY, i % 10 == 0 ? "Asthma asthma" : "Asthma", "Inhaler");
+        }
+
+        List<TextInvertedIndex.Hit> hits = index.search("asthma", null, null, null, 3);
+
+        // Ties go to the most recently indexed record
+        assertThat(hits).extracting(TextInvertedIndex.Hit::id).containsExactly("r90", "r80", "r70");
+    }
+
+    @Test
+    void filtersByPatientAndDay() {
+        index.add("r1", "p1", DAY, "Asthma", "Inhaler");
+        index.add("r2", "p2", DAY, "Asthma", "Inhaler");
+        index.add("r3", "p1", DAY.plusDays(10), "Asthma", "Inhaler");
+
+        assertThat(index.search("asthma", "p1", null, null, 10)).extracting(TextInvertedIndex.Hit::id)
+                .containsExactlyInAnyOrder("r1", "r3");
+        assertThat(index.search("asthma", null, DAY.plusDays(1), null, 10)).extracting(TextInvertedIndex.Hit::id)
+                .containsExactly("r3");
+        assertThat(index.search("asthma", "p1", null, DAY, 10)).extracting(TextInvertedIndex.Hit::id)
+                .containsExactly("r1");
+    }
+
+    @Test
+    void unknownWordsAndStopWordsMatchNothing() {
+        index.add("r1", "p1", DAY, "Asthma", "Inhaler");
+
+        assertThat(index.search("the and of", null, null, null, 10)).isEmpty();
+        assertThat(index.search("fracture", null, null, null, 10)).isEmpty();
+        assertThat(index.search("asthma", null, null, null, 0)).isEmpty();
+    }
+
+    @Test
+    void aReplacedRecordIsOnlyFoundByItsLatestText() {
+        index.add("r1", "p1", DAY, "Asthma", "Inhaler");
+        index.add("r1", "p1", DAY, "Bronchitis", "Antibiotics");
+
+        assertThat(index.search("asthma", null, null, null, 10)).isEmpty();
+        assertThat(index.search("bronchitis", null, null, null, 10)).extracting(TextInvertedIndex.Hit::id)
+                .containsExactly("r1");
+        assertThat(index.size()).isEqualTo(1);
+    }
+
+    @Test
+    void compactionKeepsTheResults() {
+        for (int i = 0; i < 600; i++) {
+            index.add("r" + i, "p" + (i % 3), DAY.plusDays(i % 7), "Asthma", i % 2 == 0 ? "Inhaler" : "Steroids");
+        }
+        List<TextInvertedIndex.Hit> before = index.search("asthma inhaler", "p1", DAY, DAY.plusDays(5), 50);
+
+        // Replace every record twice with the same text: enough replaced entries to compact the index
+        for (int round = 0; round < 2; round++) {
+            for (int i = 0; i < 600; i++) {
+                index.add("r" + i, "p" + (i % 3), DAY.plusDays(i % 7), "Asthma", i % 2 == 0 ? "Inhaler" : "Steroids");
+            }
+        }
+
+        assertThat(index.size()).isEqualTo(600);
+        // Scores may differ a little: a word's document frequency counts the replaced entries left in its postings
+        assertThat(index.search("asthma inhaler", "p1", DAY, DAY.plusDays(5), 50))
+                .extracting(TextInvertedIndex.Hit::id)
+                .containsExactlyElementsOf(before.stream().map(TextInvertedIndex.Hit::id).toList());
+    }
+}